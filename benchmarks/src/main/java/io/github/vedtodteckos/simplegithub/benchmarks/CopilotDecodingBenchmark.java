@@ -0,0 +1,45 @@
+package io.github.vedtodteckos.simplegithub.benchmarks;
+
+import io.github.vedtodteckos.simplegithub.rest.CopilotSeatInfo;
+import io.github.vedtodteckos.simplegithub.rest.CopilotUsageMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copilot responses fetched and decoded by {@link io.github.vedtodteckos.simplegithub.rest.GitHubRestClient}:
+ * a year of daily usage metrics and the seat summary.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CopilotDecodingBenchmark {
+    private static final LocalDateTime START = LocalDateTime.of(2023, 5, 2, 0, 0);
+    private static final LocalDateTime END = START.plusDays(364);
+
+    @Benchmark
+    public CopilotUsageMetrics getCopilotUsage(StubGitHubState state) throws IOException {
+        return state.restClient.getCopilotUsage(StubGitHubServer.Fixtures.OWNER, START, END);
+    }
+
+    @Benchmark
+    public CopilotUsageMetrics getCopilotUsageStreaming(StubGitHubState state, Blackhole blackhole) throws IOException {
+        return state.restClient.getCopilotUsage(StubGitHubServer.Fixtures.OWNER, START, END, blackhole::consume);
+    }
+
+    @Benchmark
+    public CopilotSeatInfo getCopilotSeats(StubGitHubState state) throws IOException {
+        return state.restClient.getCopilotSeats(StubGitHubServer.Fixtures.OWNER);
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.vedtodteckos.simplegithub.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import io.github.vedtodteckos.simplegithub.rest.CopilotUsageMetrics;
+import io.github.vedtodteckos.simplegithub.rest.LocalDateTimeAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LocalDateTimeAdapter} in isolation, without any network transfer:
+ * single values and the 365 daily metrics of the usage fixture.
+ * The {@code legacy} variant runs the same work through the tree-based adapter it replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LocalDateTimeAdapterBenchmark {
+    private static final Type DAILY_METRICS = new TypeToken<List<CopilotUsageMetrics.DailyMetrics>>() {
+    }.getType();
+
+    @Param({"streaming", "legacy"})
+    private String adapter;
+
+    @Param({"2024-05-01T12:30:00Z", "2024-05-01T12:30:00.123+02:00"})
+    private String timestamp;
+
+    private Gson gson;
+    private String date;
+    private LocalDateTime dateTime;
+    private String dailyMetrics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class,
+                        "legacy".equals(adapter) ? new LegacyLocalDateTimeAdapter() : new LocalDateTimeAdapter())
+                .create();
+        date = "\"" + timestamp + "\"";
+        dateTime = LocalDateTime.of(2024, 5, 1, 12, 30);
+        String usage = new String(StubGitHubServer.Fixtures.load("copilot-usage"), StandardCharsets.UTF_8);
+        dailyMetrics = gson.toJson(gson.fromJson(usage, CopilotUsageMetrics.class).getDailyMetrics());
+    }
+
+    @Benchmark
+    public LocalDateTime deserialize() {
+        return gson.fromJson(date, LocalDateTime.class);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return gson.toJson(dateTime);
+    }
+
+    @Benchmark
+    public List<CopilotUsageMetrics.DailyMetrics> deserializeDailyMetrics() {
+        return gson.fromJson(dailyMetrics, DAILY_METRICS);
+    }
+}
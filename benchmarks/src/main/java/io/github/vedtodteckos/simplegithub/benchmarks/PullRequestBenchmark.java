@@ -0,0 +1,47 @@
+package io.github.vedtodteckos.simplegithub.benchmarks;
+
+import io.github.vedtodteckos.simplegithub.PullRequestHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Commit listing of a pull request with 100 commits.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PullRequestBenchmark {
+    private PullRequestHandler pullRequest;
+
+    @Setup(Level.Trial)
+    public void fetchPullRequest(StubGitHubState state) throws IOException {
+        pullRequest = state.repository.pullRequest(StubGitHubServer.Fixtures.PULL_REQUEST);
+    }
+
+    @Benchmark
+    public List<String> getCommits() throws IOException {
+        return pullRequest.getCommits();
+    }
+
+    @Benchmark
+    public List<String> streamCommits() throws IOException {
+        return pullRequest.streamCommits().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.vedtodteckos.simplegithub.benchmarks;
+
+import io.github.vedtodteckos.simplegithub.PullRequestHandler;
+import io.github.vedtodteckos.simplegithub.rest.PullRequestSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A dashboard of the 30 open pull requests: state, merge status, requested reviewers, commits
+ * and review comments of each, built through the REST handlers and with one GraphQL request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PullRequestDashboardBenchmark {
+
+    @Benchmark
+    public void handlers(StubGitHubState state, Blackhole blackhole) throws IOException {
+        for (PullRequestHandler pullRequest : state.repository.getOpenPullRequests()) {
+            blackhole.consume(pullRequest.getState());
+            blackhole.consume(pullRequest.isMerged());
+            blackhole.consume(pullRequest.getRequestedReviewers());
+            blackhole.consume(pullRequest.getCommits());
+            blackhole.consume(pullRequest.getReviewComments());
+        }
+    }
+
+    @Benchmark
+    public List<PullRequestSnapshot> graphql(StubGitHubState state) throws IOException {
+        return state.restClient.getOpenPullRequestSnapshots(StubGitHubServer.Fixtures.OWNER, StubGitHubServer.Fixtures.REPOSITORY);
+    }
+}
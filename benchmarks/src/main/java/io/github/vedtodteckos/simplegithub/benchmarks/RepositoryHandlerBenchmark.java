@@ -0,0 +1,47 @@
+package io.github.vedtodteckos.simplegithub.benchmarks;
+
+import io.github.vedtodteckos.simplegithub.PullRequestHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * List calls of {@link io.github.vedtodteckos.simplegithub.RepositoryHandler}:
+ * 100 branches, 30 open pull requests and 3 workflows per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryHandlerBenchmark {
+
+    @Benchmark
+    public List<String> getBranchNames(StubGitHubState state) throws IOException {
+        return state.repository.getBranchNames();
+    }
+
+    @Benchmark
+    public List<String> streamBranchNames(StubGitHubState state) throws IOException {
+        return state.repository.streamBranchNames().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<PullRequestHandler> getOpenPullRequests(StubGitHubState state) throws IOException {
+        return state.repository.getOpenPullRequests();
+    }
+
+    @Benchmark
+    public List<String> getWorkflows(StubGitHubState state) throws IOException {
+        return state.repository.getWorkflows();
+    }
+}
@@ -0,0 +1,138 @@
+package io.github.vedtodteckos.simplegithub.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for the GitHub REST and GraphQL APIs serving recorded fixtures.
+ * Fixtures are loaded into memory once, so benchmarks measure the client rather than disk access.
+ * Only the path is matched; query parameters and GraphQL queries are ignored and every listing
+ * fits on one page. Every open pull request serves the details, commits and review comments
+ * recorded for the first one.
+ */
+public final class StubGitHubServer implements AutoCloseable {
+    private static final String REPOSITORY = "/repos/" + Fixtures.OWNER + "/" + Fixtures.REPOSITORY;
+    private static final String ORGANIZATION = "/orgs/" + Fixtures.OWNER;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, byte[]> routes = new HashMap<>();
+
+    private StubGitHubServer() throws IOException {
+        route("/user", "user");
+        route(REPOSITORY, "repository");
+        route(REPOSITORY + "/branches", "branches");
+        route(REPOSITORY + "/git/refs/heads", "refs");
+        route(REPOSITORY + "/pulls", "pulls");
+        for (int number = 1; number <= Fixtures.OPEN_PULL_REQUESTS; number++) {
+            route(REPOSITORY + "/pulls/" + number, "pull");
+            route(REPOSITORY + "/pulls/" + number + "/commits", "pull-commits");
+            route(REPOSITORY + "/pulls/" + number + "/comments", "pull-comments");
+        }
+        route(REPOSITORY + "/actions/workflows", "workflows");
+        route(REPOSITORY + "/actions/workflows/" + Fixtures.WORKFLOW_FILE, "workflow");
+        route(REPOSITORY + "/actions/workflows/" + Fixtures.WORKFLOW_ID + "/runs", "workflow-runs");
+        route(ORGANIZATION + "/copilot/billing", "copilot-billing");
+        route(ORGANIZATION + "/copilot/usage", "copilot-usage");
+        route("/graphql", "graphql-pulls");
+
+        executor = Executors.newFixedThreadPool(4, task -> {
+            Thread thread = new Thread(task, "stub-github");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Starts a stub server on a free loopback port.
+     *
+     * @return running server
+     * @throws IOException if the server cannot be started
+     */
+    public static StubGitHubServer start() throws IOException {
+        StubGitHubServer stub = new StubGitHubServer();
+        stub.server.start();
+        return stub;
+    }
+
+    /**
+     * Gets the API base URL of the server.
+     *
+     * @return API base URL without a trailing slash
+     */
+    public String getApiUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void route(String path, String fixture) {
+        routes.put(path, Fixtures.load(fixture));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] body = routes.get(exchange.getRequestURI().getPath());
+            if (body == null) {
+                byte[] notFound = "{\"message\":\"Not Found\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+                exchange.sendResponseHeaders(404, notFound.length);
+                exchange.getResponseBody().write(notFound);
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    /**
+     * Names and contents of the recorded fixtures.
+     */
+    public static final class Fixtures {
+        public static final String OWNER = "octo";
+        public static final String REPOSITORY = "hello";
+        public static final int PULL_REQUEST = 1;
+        public static final int OPEN_PULL_REQUESTS = 30;
+        public static final String WORKFLOW_FILE = "ci.yml";
+        public static final long WORKFLOW_ID = 161335;
+
+        private Fixtures() {
+        }
+
+        /**
+         * Loads a fixture from the classpath.
+         *
+         * @param name Fixture name without extension
+         * @return fixture contents
+         */
+        public static byte[] load(String name) {
+            try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name + ".json")) {
+                if (in == null) {
+                    throw new IllegalArgumentException("Unknown fixture: " + name);
+                }
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.vedtodteckos.simplegithub.benchmarks;
+
+import io.github.vedtodteckos.simplegithub.RepositoryHandler;
+import io.github.vedtodteckos.simplegithub.SimpleGitHub;
+import io.github.vedtodteckos.simplegithub.rest.GitHubRestClient;
+import io.github.vedtodteckos.simplegithub.rest.RateLimitScheduler;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * A SimpleGitHub instance connected to a {@link StubGitHubServer}.
+ * Rate limit pacing is lifted and repository metadata is cached for the whole trial,
+ * so each invocation measures only the call under test.
+ */
+@State(Scope.Benchmark)
+public class StubGitHubState {
+    private static final double UNLIMITED = 1_000_000;
+
+    public StubGitHubServer server;
+    public SimpleGitHub github;
+    public RepositoryHandler repository;
+    public GitHubRestClient restClient;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        server = StubGitHubServer.start();
+        RateLimitScheduler scheduler = RateLimitScheduler.builder()
+                .requestsPerSecond(RateLimitScheduler.Resource.CORE, UNLIMITED)
+                .requestsPerSecond(RateLimitScheduler.Resource.SEARCH, UNLIMITED)
+                .requestsPerSecond(RateLimitScheduler.Resource.GRAPHQL, UNLIMITED)
+                .build();
+        github = SimpleGitHub.builder()
+                .token("benchmark-token")
+                .apiUrl(server.getApiUrl())
+                .repositoryCacheTtl(Duration.ofDays(1))
+                .rateLimitScheduler(scheduler)
+                .build();
+        repository = github.repository(StubGitHubServer.Fixtures.OWNER, StubGitHubServer.Fixtures.REPOSITORY);
+        restClient = github.getRestClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        server.close();
+    }
+}
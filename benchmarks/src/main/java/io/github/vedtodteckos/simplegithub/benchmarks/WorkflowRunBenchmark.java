@@ -0,0 +1,47 @@
+package io.github.vedtodteckos.simplegithub.benchmarks;
+
+import io.github.vedtodteckos.simplegithub.WorkflowHandler;
+import org.kohsuke.github.GHWorkflowRun;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run listing of a workflow with 100 runs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WorkflowRunBenchmark {
+    private WorkflowHandler workflow;
+
+    @Setup(Level.Trial)
+    public void fetchWorkflow(StubGitHubState state) throws IOException {
+        workflow = state.repository.workflow(StubGitHubServer.Fixtures.WORKFLOW_FILE);
+    }
+
+    @Benchmark
+    public List<GHWorkflowRun> getWorkflowRuns() throws IOException {
+        return workflow.getWorkflowRuns();
+    }
+
+    @Benchmark
+    public GHWorkflowRun getLatestRun() throws IOException {
+        return workflow.getLatestRun();
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.vedtodteckos.simplegithub;
+
+import io.github.vedtodteckos.simplegithub.rest.PullRequestEdit;
+import org.kohsuke.github.GHPullRequest;
+import org.kohsuke.github.GHPullRequestReviewComment;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous view of a {@link PullRequestHandler}.
+ * Every call runs within the concurrency limit of the owning {@link AsyncSimpleGitHub}.
+ */
+public class AsyncPullRequestHandler {
+    private final AsyncSimpleGitHub async;
+    private final PullRequestHandler pullRequest;
+
+    AsyncPullRequestHandler(AsyncSimpleGitHub async, PullRequestHandler pullRequest) {
+        this.async = async;
+        this.pullRequest = pullRequest;
+    }
+
+    /**
+     * Checks if the pull request has been merged.
+     *
+     * @return future completed with true if the pull request is merged
+     * @see PullRequestHandler#isMerged()
+     */
+    public CompletableFuture<Boolean> isMerged() {
+        return async.supply(pullRequest::isMerged);
+    }
+
+    /**
+     * Gets the list of users requested to review this pull request.
+     *
+     * @return future completed with the GitHub usernames of requested reviewers
+     * @see PullRequestHandler#getRequestedReviewers()
+     */
+    public CompletableFuture<List<String>> getRequestedReviewers() {
+        return async.supply(pullRequest::getRequestedReviewers);
+    }
+
+    /**
+     * Adds labels to the pull request.
+     *
+     * @param labels One or more label names to add to the pull request
+     * @return future completed once the labels are added
+     * @see PullRequestHandler#addLabels(String...)
+     */
+    public CompletableFuture<Void> addLabels(String... labels) {
+        return async.run(() -> pullRequest.addLabels(labels));
+    }
+
+    /**
+     * Removes labels from the pull request.
+     *
+     * @param labels One or more label names to remove from the pull request
+     * @return future completed once the labels are removed
+     * @see PullRequestHandler#removeLabels(String...)
+     */
+    public CompletableFuture<Void> removeLabels(String... labels) {
+        return async.run(() -> pullRequest.removeLabels(labels));
+    }
+
+    /**
+     * Merges the pull request using the specified merge method.
+     *
+     * @param commitMessage The commit message to use for the merge
+     * @param mergeMethod The merge method to use (MERGE, SQUASH, or REBASE)
+     * @return future completed once the pull request is merged
+     * @see PullRequestHandler#merge(String, GHPullRequest.MergeMethod)
+     */
+    public CompletableFuture<Void> merge(String commitMessage, GHPullRequest.MergeMethod mergeMethod) {
+        return async.run(() -> pullRequest.merge(commitMessage, mergeMethod));
+    }
+
+    /**
+     * Adds a comment to the pull request discussion.
+     *
+     * @param comment The text content of the comment
+     * @return future completed once the comment is posted
+     * @see PullRequestHandler#comment(String)
+     */
+    public CompletableFuture<Void> comment(String comment) {
+        return async.run(() -> pullRequest.comment(comment));
+    }
+
+    /**
+     * Gets the list of commit SHA hashes in the pull request.
+     *
+     * @return future completed with the commit SHA hashes
+     * @see PullRequestHandler#getCommits()
+     */
+    public CompletableFuture<List<String>> getCommits() {
+        return async.supply(pullRequest::getCommits);
+    }
+
+    /**
+     * Updates the pull request title and body.
+     *
+     * @param title The new title for the pull request
+     * @param body The new description/body text for the pull request
+     * @return future completed once the pull request is updated
+     * @see PullRequestHandler#update(String, String)
+     */
+    public CompletableFuture<Void> update(String title, String body) {
+        return async.run(() -> pullRequest.update(title, body));
+    }
+
+    /**
+     * Asynchronously applies several changes to the pull request.
+     *
+     * @param edit Changes to apply
+     * @return future completed once every change is applied
+     * @see PullRequestHandler#edit(PullRequestEdit)
+     */
+    public CompletableFuture<Void> edit(PullRequestEdit edit) {
+        return async.run(() -> pullRequest.edit(edit));
+    }
+
+    /**
+     * Gets all review comments on the pull request.
+     *
+     * @return future completed with the pull request review comments
+     * @see PullRequestHandler#getReviewComments()
+     */
+    public CompletableFuture<List<GHPullRequestReviewComment>> getReviewComments() {
+        return async.supply(pullRequest::getReviewComments);
+    }
+
+    /**
+     * Creates a review comment on a specific line of code.
+     *
+     * @param body The text content of the review comment
+     * @param commitId The SHA of the commit being commented on
+     * @param path The file path relative to the repository root
+     * @param position The line number in the file to comment on
+     * @return future completed once the review comment is posted
+     * @see PullRequestHandler#createReviewComment(String, String, String, int)
+     */
+    public CompletableFuture<Void> createReviewComment(String body, String commitId, String path, int position) {
+        return async.run(() -> pullRequest.createReviewComment(body, commitId, path, position));
+    }
+
+    /**
+     * Gets the underlying synchronous handler.
+     *
+     * @return PullRequestHandler instance
+     */
+    public PullRequestHandler sync() {
+        return pullRequest;
+    }
+}
@@ -0,0 +1,190 @@
+package io.github.vedtodteckos.simplegithub;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Asynchronous view of a {@link RepositoryHandler}.
+ * Every call runs within the concurrency limit of the owning {@link AsyncSimpleGitHub}.
+ */
+public class AsyncRepositoryHandler {
+    private final AsyncSimpleGitHub async;
+    private final RepositoryHandler repository;
+
+    AsyncRepositoryHandler(AsyncSimpleGitHub async, RepositoryHandler repository) {
+        this.async = async;
+        this.repository = repository;
+    }
+
+    /**
+     * Creates many issues, skipping those whose title already exists in the repository.
+     * The import occupies one call slot while it runs; the issues are created by its own workers.
+     *
+     * @param issues Issues to create
+     * @param progress Receives the progress after each issue, or null
+     * @return future completed with the counts of created and skipped issues and the failure per title
+     * @see RepositoryHandler#importIssues(Stream, Consumer)
+     */
+    public CompletableFuture<IssueImportResult> importIssues(Stream<IssueSpec> issues, Consumer<IssueImportProgress> progress) {
+        return async.supply(() -> repository.importIssues(issues, progress));
+    }
+
+    /**
+     * Gets the repository description.
+     *
+     * @return future completed with the repository description text
+     * @see RepositoryHandler#getDescription()
+     */
+    public CompletableFuture<String> getDescription() {
+        return async.supply(repository::getDescription);
+    }
+
+    /**
+     * Gets the number of open issues in the repository.
+     *
+     * @return future completed with the count of open issues
+     * @see RepositoryHandler#getOpenIssuesCount()
+     */
+    public CompletableFuture<Integer> getOpenIssuesCount() {
+        return async.supply(repository::getOpenIssuesCount);
+    }
+
+    /**
+     * Checks if the repository is private.
+     *
+     * @return future completed with true if the repository is private
+     * @see RepositoryHandler#isPrivate()
+     */
+    public CompletableFuture<Boolean> isPrivate() {
+        return async.supply(repository::isPrivate);
+    }
+
+    /**
+     * Gets the default branch name of the repository.
+     *
+     * @return future completed with the name of the default branch
+     * @see RepositoryHandler#getDefaultBranch()
+     */
+    public CompletableFuture<String> getDefaultBranch() {
+        return async.supply(repository::getDefaultBranch);
+    }
+
+    /**
+     * Gets a list of all branch names in the repository.
+     *
+     * @return future completed with the branch names
+     * @see RepositoryHandler#getBranchNames()
+     */
+    public CompletableFuture<List<String>> getBranchNames() {
+        return async.supply(repository::getBranchNames);
+    }
+
+    /**
+     * Asynchronously gets the name, HEAD SHA-1 and protection of every branch in the repository.
+     *
+     * @return future completed with snapshots of all branches
+     * @see RepositoryHandler#getBranches()
+     */
+    public CompletableFuture<List<BranchSnapshot>> getBranches() {
+        return async.supply(repository::getBranches);
+    }
+
+    /**
+     * Creates a new branch from the specified source branch.
+     *
+     * @param newBranchName Name of the new branch to create
+     * @param sourceBranchName Name of the source branch to branch from
+     * @return future completed with a BranchHandler for the new branch
+     * @see RepositoryHandler#createBranch(String, String)
+     */
+    public CompletableFuture<BranchHandler> createBranch(String newBranchName, String sourceBranchName) {
+        return async.supply(() -> repository.createBranch(newBranchName, sourceBranchName));
+    }
+
+    /**
+     * Creates a new pull request in the repository.
+     *
+     * @param title Title of the pull request
+     * @param head Name of the branch containing the changes (source branch)
+     * @param base Name of the branch to merge into (target branch)
+     * @param body Description/body text of the pull request
+     * @return future completed with a handler for the new pull request
+     * @see RepositoryHandler#createPullRequest(String, String, String, String)
+     */
+    public CompletableFuture<AsyncPullRequestHandler> createPullRequest(String title, String head, String base, String body) {
+        return async.supply(() -> wrap(repository.createPullRequest(title, head, base, body)));
+    }
+
+    /**
+     * Gets a handler for an existing pull request.
+     *
+     * @param number The pull request number
+     * @return future completed with a handler for the pull request
+     * @see RepositoryHandler#pullRequest(int)
+     */
+    public CompletableFuture<AsyncPullRequestHandler> pullRequest(int number) {
+        return async.supply(() -> wrap(repository.pullRequest(number)));
+    }
+
+    /**
+     * Lists all open pull requests in the repository.
+     *
+     * @return future completed with handlers for the open pull requests
+     * @see RepositoryHandler#getOpenPullRequests()
+     */
+    public CompletableFuture<List<AsyncPullRequestHandler>> getOpenPullRequests() {
+        return async.supply(() -> repository.getOpenPullRequests().stream()
+                .map(this::wrap)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Gets a handler for a GitHub Actions workflow.
+     *
+     * @param workflowId The workflow identifier (can be the filename or workflow ID)
+     * @return future completed with a handler for the workflow
+     * @see RepositoryHandler#workflow(String)
+     */
+    public CompletableFuture<AsyncWorkflowHandler> workflow(String workflowId) {
+        return async.supply(() -> new AsyncWorkflowHandler(async, repository.workflow(workflowId)));
+    }
+
+    /**
+     * Lists all workflows defined in the repository.
+     *
+     * @return future completed with the workflow IDs
+     * @see RepositoryHandler#getWorkflows()
+     */
+    public CompletableFuture<List<String>> getWorkflows() {
+        return async.supply(repository::getWorkflows);
+    }
+
+    /**
+     * Creates or updates a repository secret.
+     *
+     * @param name The name of the secret
+     * @param value The value of the secret
+     * @param publicKeyId The public key ID for encrypting the secret
+     * @return future completed once the secret is stored
+     * @see RepositoryHandler#createSecret(String, String, String)
+     */
+    public CompletableFuture<Void> createSecret(String name, String value, String publicKeyId) {
+        return async.run(() -> repository.createSecret(name, value, publicKeyId));
+    }
+
+    /**
+     * Gets the underlying synchronous handler.
+     *
+     * @return RepositoryHandler instance
+     */
+    public RepositoryHandler sync() {
+        return repository;
+    }
+
+    private AsyncPullRequestHandler wrap(PullRequestHandler pullRequest) {
+        return new AsyncPullRequestHandler(async, pullRequest);
+    }
+}
@@ -0,0 +1,157 @@
+package io.github.vedtodteckos.simplegithub;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous view of a SimpleGitHub instance.
+ * Calls are run on an executor and return {@link CompletableFuture}s, while a shared limit on
+ * the number of calls in flight keeps fan-out from exhausting rate limits.
+ * <p>
+ * By default calls run on virtual threads when the runtime supports them (Java 21 or newer),
+ * and on a pool of daemon threads sized to the concurrency limit otherwise.
+ * Failed calls complete their future exceptionally with the thrown exception.
+ */
+public class AsyncSimpleGitHub {
+    /**
+     * Concurrency limit used when none is configured.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 10;
+
+    private final SimpleGitHub github;
+    private final Executor executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+
+    AsyncSimpleGitHub(SimpleGitHub github, Executor executor, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Concurrency limit must be positive: " + maxConcurrency);
+        }
+        this.github = github;
+        this.executor = executor != null ? executor : newDefaultExecutor(maxConcurrency);
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Creates an asynchronous handler for the specified repository.
+     *
+     * @param owner Repository owner
+     * @param name Repository name
+     * @return AsyncRepositoryHandler instance
+     */
+    public AsyncRepositoryHandler repository(String owner, String name) {
+        return new AsyncRepositoryHandler(this, github.repository(owner, name));
+    }
+
+    /**
+     * Runs a call asynchronously within the concurrency limit.
+     * Use this for operations without a dedicated asynchronous variant.
+     *
+     * @param call The call to run
+     * @param <T> Result type
+     * @return future completed with the result of the call
+     */
+    public <T> CompletableFuture<T> supply(Call<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.completeExceptionally(e);
+                return;
+            }
+            try {
+                future.complete(call.call());
+            } catch (Throwable e) {
+                // Errors too, or the future would never complete and joining callers would hang
+                future.completeExceptionally(e);
+            } finally {
+                permits.release();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Runs a call without a result asynchronously within the concurrency limit.
+     *
+     * @param call The call to run
+     * @return future completed once the call finished
+     */
+    public CompletableFuture<Void> run(VoidCall call) {
+        return supply(() -> {
+            call.call();
+            return null;
+        });
+    }
+
+    /**
+     * Gets the maximum number of calls running at the same time.
+     *
+     * @return concurrency limit
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Gets the underlying synchronous SimpleGitHub instance.
+     *
+     * @return SimpleGitHub instance
+     */
+    public SimpleGitHub sync() {
+        return github;
+    }
+
+    private static Executor newDefaultExecutor(int maxConcurrency) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            // Virtual threads need Java 21; fall back to a pool bounded by the concurrency limit
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConcurrency, maxConcurrency,
+                    60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new DaemonThreadFactory("simple-github-async-"));
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+
+    /**
+     * A GitHub call returning a result.
+     *
+     * @param <T> Result type
+     */
+    @FunctionalInterface
+    public interface Call<T> {
+        /**
+         * Performs the call.
+         *
+         * @return call result
+         * @throws IOException if the GitHub API request fails
+         */
+        T call() throws IOException;
+    }
+
+    /**
+     * A GitHub call without a result.
+     */
+    @FunctionalInterface
+    public interface VoidCall {
+        /**
+         * Performs the call.
+         *
+         * @throws IOException if the GitHub API request fails
+         */
+        void call() throws IOException;
+    }
+}
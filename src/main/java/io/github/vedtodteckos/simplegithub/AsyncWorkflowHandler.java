@@ -0,0 +1,129 @@
+package io.github.vedtodteckos.simplegithub;
+
+import org.kohsuke.github.GHWorkflowJob;
+import org.kohsuke.github.GHWorkflowRun;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous view of a {@link WorkflowHandler}.
+ * Every call runs within the concurrency limit of the owning {@link AsyncSimpleGitHub}.
+ */
+public class AsyncWorkflowHandler {
+    private final AsyncSimpleGitHub async;
+    private final WorkflowHandler workflow;
+
+    AsyncWorkflowHandler(AsyncSimpleGitHub async, WorkflowHandler workflow) {
+        this.async = async;
+        this.workflow = workflow;
+    }
+
+    /**
+     * Lists all runs of this workflow.
+     *
+     * @return future completed with the workflow runs
+     * @see WorkflowHandler#getWorkflowRuns()
+     */
+    public CompletableFuture<List<GHWorkflowRun>> getWorkflowRuns() {
+        return async.supply(workflow::getWorkflowRuns);
+    }
+
+    /**
+     * Gets the most recent run of this workflow.
+     *
+     * @return future completed with the latest workflow run, or null if no runs exist
+     * @see WorkflowHandler#getLatestRun()
+     */
+    public CompletableFuture<GHWorkflowRun> getLatestRun() {
+        return async.supply(workflow::getLatestRun);
+    }
+
+    /**
+     * Gets the most recent run of this workflow on a branch.
+     *
+     * @param branch The branch the run was triggered for
+     * @return future completed with the latest workflow run on the branch, or null if no runs exist
+     * @see WorkflowHandler#getLatestRun(String)
+     */
+    public CompletableFuture<GHWorkflowRun> getLatestRun(String branch) {
+        return async.supply(() -> workflow.getLatestRun(branch));
+    }
+
+    /**
+     * Triggers a new workflow run.
+     *
+     * @param branch The branch to run the workflow on
+     * @param inputs Map of input parameters for the workflow
+     * @return future completed once the run is triggered
+     * @see WorkflowHandler#dispatch(String, Map)
+     */
+    public CompletableFuture<Void> dispatch(String branch, Map<String, Object> inputs) {
+        return async.run(() -> workflow.dispatch(branch, inputs));
+    }
+
+    /**
+     * Enables or disables the workflow.
+     *
+     * @param enabled true to enable the workflow, false to disable it
+     * @return future completed once the workflow state is changed
+     * @see WorkflowHandler#setEnabled(boolean)
+     */
+    public CompletableFuture<Void> setEnabled(boolean enabled) {
+        return async.run(() -> workflow.setEnabled(enabled));
+    }
+
+    /**
+     * Cancels a running workflow run.
+     *
+     * @param runId The ID of the workflow run to cancel
+     * @return future completed once the run is cancelled
+     * @see WorkflowHandler#cancelRun(long)
+     */
+    public CompletableFuture<Void> cancelRun(long runId) {
+        return async.run(() -> workflow.cancelRun(runId));
+    }
+
+    /**
+     * Re-runs all failed jobs in a workflow run.
+     *
+     * @param runId The ID of the workflow run containing the failed jobs
+     * @return future completed once the jobs are re-run
+     * @see WorkflowHandler#rerunFailedJobs(long)
+     */
+    public CompletableFuture<Void> rerunFailedJobs(long runId) {
+        return async.run(() -> workflow.rerunFailedJobs(runId));
+    }
+
+    /**
+     * Gets the URL for downloading the logs of a workflow run.
+     *
+     * @param runId The ID of the workflow run
+     * @return future completed with the URL for downloading the logs
+     * @see WorkflowHandler#getLogsUrl(long)
+     */
+    public CompletableFuture<String> getLogsUrl(long runId) {
+        return async.supply(() -> workflow.getLogsUrl(runId));
+    }
+
+    /**
+     * Gets all jobs from a specific workflow run.
+     *
+     * @param runId The ID of the workflow run
+     * @return future completed with the workflow jobs
+     * @see WorkflowHandler#getJobs(long)
+     */
+    public CompletableFuture<List<GHWorkflowJob>> getJobs(long runId) {
+        return async.supply(() -> workflow.getJobs(runId));
+    }
+
+    /**
+     * Gets the underlying synchronous handler.
+     *
+     * @return WorkflowHandler instance
+     */
+    public WorkflowHandler sync() {
+        return workflow;
+    }
+}
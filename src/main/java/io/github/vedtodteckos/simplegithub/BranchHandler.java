@@ -8,11 +8,14 @@ import java.io.IOException;
 
 /**
  * Handles operations related to a specific branch in a GitHub repository.
+ * The branch is fetched once, on first access, and its state is kept in a {@link BranchSnapshot}
+ * until {@link #refresh()} is called.
  */
 @RequiredArgsConstructor
 public class BranchHandler {
     private final GHRepository repository;
     private final String branchName;
+    private volatile BranchSnapshot snapshot;
 
     /**
      * Gets the SHA-1 of the branch's HEAD.
@@ -21,7 +24,7 @@ public class BranchHandler {
      * @throws IOException if the branch cannot be accessed
      */
     public String getSha() throws IOException {
-        return getBranch().getSHA1();
+        return getSnapshot().getSha();
     }
 
     /**
@@ -31,7 +34,33 @@ public class BranchHandler {
      * @throws IOException if the branch cannot be accessed
      */
     public boolean isProtected() throws IOException {
-        return getBranch().isProtected();
+        return getSnapshot().isProtected();
+    }
+
+    /**
+     * Gets the state of the branch, fetching it on first access.
+     *
+     * @return snapshot of the branch
+     * @throws IOException if the branch cannot be accessed
+     */
+    public BranchSnapshot getSnapshot() throws IOException {
+        BranchSnapshot current = snapshot;
+        if (current == null) {
+            current = refresh();
+        }
+        return current;
+    }
+
+    /**
+     * Fetches the branch again, replacing the kept snapshot.
+     *
+     * @return the new snapshot of the branch
+     * @throws IOException if the branch cannot be accessed
+     */
+    public BranchSnapshot refresh() throws IOException {
+        BranchSnapshot current = BranchSnapshot.of(getBranch());
+        snapshot = current;
+        return current;
     }
 
     /**
@@ -51,6 +80,7 @@ public class BranchHandler {
     public void delete() throws IOException {
         String branchRef = "heads/" + branchName;
         repository.getRef(branchRef).delete();
+        snapshot = null;
     }
 
     /**
@@ -0,0 +1,30 @@
+package io.github.vedtodteckos.simplegithub;
+
+import lombok.Builder;
+import lombok.Value;
+import org.kohsuke.github.GHBranch;
+
+/**
+ * State of a branch captured by a single fetch.
+ * A snapshot doesn't change when the branch moves; fetch a new one to see later commits.
+ */
+@Value
+@Builder
+public class BranchSnapshot {
+    String name;
+
+    /**
+     * SHA-1 of the branch's HEAD when the snapshot was taken.
+     */
+    String sha;
+
+    boolean isProtected;
+
+    static BranchSnapshot of(GHBranch branch) {
+        return BranchSnapshot.builder()
+                .name(branch.getName())
+                .sha(branch.getSHA1())
+                .isProtected(branch.isProtected())
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package io.github.vedtodteckos.simplegithub;
+
+import io.github.vedtodteckos.simplegithub.rest.HttpResponseCache;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Connector for the GitHub API library that makes GET requests conditional.
+ * Responses carrying validators are stored in a {@link HttpResponseCache}; when GitHub answers
+ * a later request with 304 Not Modified, the stored response is handed to the library instead.
+ */
+final class CachingGitHubConnector implements GitHubConnector {
+    private final GitHubConnector delegate;
+    private final HttpResponseCache cache;
+
+    CachingGitHubConnector(GitHubConnector delegate, HttpResponseCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        if (!"GET".equals(request.method()) || request.header("If-None-Match") != null
+                || request.header("If-Modified-Since") != null) {
+            return delegate.send(request);
+        }
+        String url = request.url().toString();
+        String authorization = request.header("Authorization");
+        HttpResponseCache.CachedResponse cached = lookup(url, authorization);
+
+        GitHubConnectorResponse response;
+        try {
+            response = delegate.send(cached != null ? new ConditionalRequest(request, cached) : request);
+        } catch (IOException | RuntimeException e) {
+            close(cached);
+            throw e;
+        }
+        if (cached != null && response.statusCode() == 304) {
+            response.close();
+            return new CachedConnectorResponse(request, cached.getHeaders(response.allHeaders()), cached);
+        }
+        close(cached);
+        if (response.statusCode() != 200 || (response.header("ETag") == null && response.header("Last-Modified") == null)) {
+            return response;
+        }
+        try (GitHubConnectorResponse fresh = response) {
+            HttpResponseCache.CachedResponse stored = cache.put(url, authorization, fresh.allHeaders(), fresh.bodyStream());
+            return new CachedConnectorResponse(request, stored.getHeaders(fresh.allHeaders()), stored);
+        }
+    }
+
+    private HttpResponseCache.CachedResponse lookup(String url, String authorization) {
+        try {
+            return cache.get(url, authorization);
+        } catch (IOException e) {
+            // An unreadable cache entry is treated as a miss
+            return null;
+        }
+    }
+
+    private static void close(HttpResponseCache.CachedResponse cached) {
+        if (cached == null) {
+            return;
+        }
+        try {
+            cached.close();
+        } catch (IOException e) {
+            // Nothing left to read from it
+        }
+    }
+
+    /**
+     * The original request with the validators of the cached response added.
+     */
+    private static final class ConditionalRequest implements GitHubConnectorRequest {
+        private final GitHubConnectorRequest request;
+        private final Map<String, List<String>> headers;
+
+        private ConditionalRequest(GitHubConnectorRequest request, HttpResponseCache.CachedResponse cached) {
+            this.request = request;
+            Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            headers.putAll(request.allHeaders());
+            if (cached.getETag() != null) {
+                headers.put("If-None-Match", List.of(cached.getETag()));
+            } else if (cached.getLastModified() != null) {
+                headers.put("If-Modified-Since", List.of(cached.getLastModified()));
+            }
+            this.headers = Collections.unmodifiableMap(headers);
+        }
+
+        @Override
+        public String method() {
+            return request.method();
+        }
+
+        @Override
+        public Map<String, List<String>> allHeaders() {
+            return headers;
+        }
+
+        @Override
+        public String header(String name) {
+            List<String> values = headers.get(name);
+            return values == null || values.isEmpty() ? null : String.join(",", values);
+        }
+
+        @Override
+        public String contentType() {
+            return request.contentType();
+        }
+
+        @Override
+        public InputStream body() {
+            return request.body();
+        }
+
+        @Override
+        public URL url() {
+            return request.url();
+        }
+
+        @Override
+        public boolean hasBody() {
+            return request.hasBody();
+        }
+    }
+
+    /**
+     * A successful response replayed from the cache.
+     */
+    private static final class CachedConnectorResponse extends GitHubConnectorResponse {
+        private final HttpResponseCache.CachedResponse cached;
+
+        private CachedConnectorResponse(GitHubConnectorRequest request, Map<String, List<String>> headers,
+                                        HttpResponseCache.CachedResponse cached) {
+            super(request, 200, headers);
+            this.cached = cached;
+        }
+
+        @Override
+        protected InputStream rawBodyStream() {
+            return cached.getBody();
+        }
+
+        @Override
+        public void close() throws IOException {
+            cached.close();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.vedtodteckos.simplegithub;
+
+import io.github.vedtodteckos.simplegithub.rest.SingleFlight;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Connector for the GitHub API library that lets identical GET requests in flight at the same
+ * time share one network call. Requests are identical when they have the same URL,
+ * Authorization and Accept headers. The shared response body is read once and replayed to every
+ * caller; each caller still decodes it on its own.
+ * <p>
+ * Only JSON responses are shared, as the library reads those whole anyway. Raw file contents,
+ * diffs and other media types are streamed straight from the delegate, so large downloads are
+ * never held in memory.
+ */
+final class CoalescingGitHubConnector implements GitHubConnector {
+    private final GitHubConnector delegate;
+    private final SingleFlight<List<String>, SharedResponse> inFlight = new SingleFlight<>();
+
+    CoalescingGitHubConnector(GitHubConnector delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        String accept = request.header("Accept");
+        if (!"GET".equals(request.method()) || request.hasBody() || !isJson(accept)) {
+            return delegate.send(request);
+        }
+        List<String> key = List.of(request.url().toString(), String.valueOf(request.header("Authorization")),
+                String.valueOf(accept));
+        SharedResponse shared = inFlight.execute(key, () -> read(delegate.send(request)));
+        return new ReplayedResponse(request, shared);
+    }
+
+    /**
+     * Checks whether a request asks for a JSON representation. GitHub answers the raw and HTML
+     * variants of its JSON media types, such as {@code application/vnd.github.raw+json}, with the
+     * file itself for repository contents, so those are not treated as JSON.
+     */
+    static boolean isJson(String accept) {
+        if (accept == null) {
+            // GitHub answers with JSON by default
+            return true;
+        }
+        String type = accept.toLowerCase(Locale.ROOT);
+        return type.contains("json") && !type.contains(".raw") && !type.contains(".html");
+    }
+
+    private static SharedResponse read(GitHubConnectorResponse response) throws IOException {
+        try (GitHubConnectorResponse received = response) {
+            byte[] body;
+            try (InputStream stream = received.bodyStream()) {
+                body = stream != null ? stream.readAllBytes() : new byte[0];
+            }
+            // The body is replayed decoded and its length may differ from the original transfer
+            Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            received.allHeaders().forEach((name, values) -> {
+                if (name != null && !name.equalsIgnoreCase("Content-Encoding") && !name.equalsIgnoreCase("Content-Length")) {
+                    headers.put(name, values);
+                }
+            });
+            return new SharedResponse(received.statusCode(), headers, body);
+        }
+    }
+
+    /**
+     * A response read once and handed to every caller that asked for it.
+     */
+    private static final class SharedResponse {
+        private final int statusCode;
+        private final Map<String, List<String>> headers;
+        private final byte[] body;
+
+        private SharedResponse(int statusCode, Map<String, List<String>> headers, byte[] body) {
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    /**
+     * One caller's copy of a shared response.
+     */
+    private static final class ReplayedResponse extends GitHubConnectorResponse {
+        private final byte[] body;
+
+        private ReplayedResponse(GitHubConnectorRequest request, SharedResponse shared) {
+            super(request, shared.statusCode, shared.headers);
+            this.body = shared.body;
+        }
+
+        @Override
+        protected InputStream rawBodyStream() {
+            return new ByteArrayInputStream(body);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.vedtodteckos.simplegithub;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates numbered daemon threads, so that idle workers never keep the JVM alive.
+ */
+final class DaemonThreadFactory implements ThreadFactory {
+    private final String prefix;
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * Creates a factory naming its threads after the given prefix.
+     *
+     * @param prefix Thread name prefix; a sequence number is appended
+     */
+    DaemonThreadFactory(String prefix) {
+        this.prefix = prefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable task) {
+        Thread thread = new Thread(task, prefix + count.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.vedtodteckos.simplegithub;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * An issue or pull request as kept in an {@link IssueIndex}.
+ */
+@Value
+@Builder
+public class IndexedIssue {
+    int number;
+
+    String title;
+
+    /**
+     * OPEN or CLOSED.
+     */
+    String state;
+
+    List<String> labels;
+
+    boolean pullRequest;
+
+    /**
+     * When the issue was last updated on GitHub, or null if unknown.
+     */
+    Instant updatedAt;
+}
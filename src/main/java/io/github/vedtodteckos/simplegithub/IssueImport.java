@@ -0,0 +1,363 @@
+package io.github.vedtodteckos.simplegithub;
+
+import io.github.vedtodteckos.simplegithub.rest.RateLimitScheduler;
+import org.kohsuke.github.GHIssue;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Creates many issues in a repository.
+ * <p>
+ * Issues are taken from the input stream as workers become free, so the input is never held in
+ * memory as a whole. A bounded number of issues is created at a time, and creations are paced
+ * on top of the shared rate limit scheduler: GitHub's secondary rate limits allow far fewer
+ * content-creating requests than reads, so a fast import would otherwise be blocked.
+ * <p>
+ * Before the first issue is created, an {@link IssueIndex} of the existing issues is synced, and
+ * issues whose title already exists are skipped. Titles repeated within the input are skipped
+ * as well. With a persisted index only the issues changed since its last sync are listed, and
+ * the created issues are added to it. Progress is reported after every issue, by one thread at a time.
+ */
+public class IssueImport {
+    /**
+     * Number of issues created at the same time when none is configured.
+     */
+    public static final int DEFAULT_CONCURRENCY = 4;
+
+    /**
+     * Issues created per second when no rate is configured, following GitHub's advice to wait
+     * at least one second between content-creating requests.
+     */
+    public static final double DEFAULT_CREATIONS_PER_SECOND = 1.0;
+
+    private static final AtomicInteger IMPORTS = new AtomicInteger();
+
+    private final RepositoryHandler repository;
+    private final int concurrency;
+    private final double creationsPerSecond;
+    private final boolean deduplicate;
+    private final IssueIndex index;
+
+    private IssueImport(Builder builder) {
+        this.repository = builder.repository;
+        this.concurrency = builder.concurrency;
+        this.creationsPerSecond = builder.creationsPerSecond;
+        this.deduplicate = builder.deduplicate;
+        this.index = builder.index;
+    }
+
+    /**
+     * Creates a builder for an import into the given repository.
+     *
+     * @param repository Repository the issues are created in
+     * @return new builder
+     */
+    public static Builder builder(RepositoryHandler repository) {
+        return new Builder(repository);
+    }
+
+    /**
+     * Imports the given issues, blocking until all of them have been handled.
+     * Issues that cannot be created are reported in the result rather than thrown.
+     * An exception thrown by the input stream or the progress consumer stops the import and is rethrown.
+     *
+     * @param issues Issues to create
+     * @param progress Receives the progress after each issue, or null
+     * @return Counts of created and skipped issues and the failure per title
+     * @throws IOException if the existing issues cannot be listed or the index cannot be stored
+     * @throws InterruptedIOException if the thread is interrupted; issues already created remain
+     */
+    public IssueImportResult run(Stream<IssueSpec> issues, Consumer<IssueImportProgress> progress) throws IOException {
+        IssueIndex existing = null;
+        if (deduplicate) {
+            existing = index != null ? index : new IssueIndex();
+            existing.sync(repository);
+        }
+        Titles titles = existing != null ? new Titles(existing) : null;
+        // A private bucket paces the creations; every request still draws from the shared budget
+        RateLimitScheduler pacer = RateLimitScheduler.builder()
+                .requestsPerSecond(RateLimitScheduler.Resource.CORE, creationsPerSecond)
+                .build();
+        Progress tracker = new Progress(issues.iterator(), progress);
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency,
+                new DaemonThreadFactory("simple-github-issue-import-" + IMPORTS.incrementAndGet() + "-"));
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                tasks.add(() -> work(tracker, titles, pacer));
+            }
+            for (Future<Void> task : workers.invokeAll(tasks)) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            tracker.stop();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Issue import into " + repository.getOwner() + "/" + repository.getName() + " was interrupted");
+        } catch (ExecutionException e) {
+            tracker.stop();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Issue import into " + repository.getOwner() + "/" + repository.getName() + " failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+        if (index != null) {
+            index.update(tracker.getCreatedIssues());
+        }
+        return tracker.result();
+    }
+
+    /**
+     * Imports the given issues without progress reporting.
+     *
+     * @param issues Issues to create
+     * @return Counts of created and skipped issues and the failure per title
+     * @throws IOException if the existing issues cannot be listed
+     * @see #run(Stream, Consumer)
+     */
+    public IssueImportResult run(Stream<IssueSpec> issues) throws IOException {
+        return run(issues, null);
+    }
+
+    private Void work(Progress tracker, Titles titles, RateLimitScheduler pacer) throws InterruptedException {
+        try {
+            IssueSpec issue;
+            while ((issue = tracker.next()) != null) {
+                String title = issue.getTitle().trim();
+                if (titles != null && !titles.claim(title)) {
+                    tracker.skipped(issue);
+                    continue;
+                }
+                pacer.acquire(RateLimitScheduler.Resource.CORE);
+                try {
+                    tracker.created(issue, IssueIndex.of(create(title, issue)));
+                } catch (IOException e) {
+                    if (titles != null) {
+                        // Let a later occurrence of the title try again
+                        titles.release(title);
+                    }
+                    tracker.failed(issue, title, e);
+                }
+            }
+            return null;
+        } catch (RuntimeException | InterruptedException e) {
+            // Stop the other workers right away instead of letting them drain the input
+            tracker.stop();
+            throw e;
+        }
+    }
+
+    private GHIssue create(String title, IssueSpec issue) throws IOException {
+        IssueBuilder builder = repository.createIssue(title);
+        if (issue.getBody() != null) {
+            builder.body(issue.getBody());
+        }
+        if (issue.getLabels() != null) {
+            builder.labels(issue.getLabels().toArray(new String[0]));
+        }
+        return builder.create();
+    }
+
+    /**
+     * Titles taken by existing issues, including pull requests, or claimed during this run.
+     */
+    private static final class Titles {
+        private final IssueIndex existing;
+        private final Set<String> claimed = ConcurrentHashMap.newKeySet();
+
+        private Titles(IssueIndex existing) {
+            this.existing = existing;
+        }
+
+        private boolean claim(String title) {
+            return !existing.containsTitle(title) && claimed.add(IssueIndex.normalize(title));
+        }
+
+        private void release(String title) {
+            claimed.remove(IssueIndex.normalize(title));
+        }
+    }
+
+    /**
+     * Hands out the input one issue at a time and reports each outcome to the consumer.
+     * Once stopped, no further issues are handed out.
+     */
+    private static final class Progress {
+        private final Iterator<IssueSpec> issues;
+        private final Consumer<IssueImportProgress> consumer;
+        private final Map<String, IOException> failures = new ConcurrentHashMap<>();
+        private final List<IndexedIssue> createdIssues = new ArrayList<>();
+        private boolean stopped;
+        private int created;
+        private int skipped;
+        private RuntimeException failure;
+
+        private Progress(Iterator<IssueSpec> issues, Consumer<IssueImportProgress> consumer) {
+            this.issues = issues;
+            this.consumer = consumer;
+        }
+
+        private synchronized IssueSpec next() {
+            if (stopped) {
+                return null;
+            }
+            try {
+                if (issues.hasNext()) {
+                    return issues.next();
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            stopped = true;
+            return null;
+        }
+
+        private synchronized void created(IssueSpec issue, IndexedIssue createdIssue) {
+            created++;
+            createdIssues.add(createdIssue);
+            failures.remove(issue.getTitle().trim());
+            report(issue, IssueImportProgress.Outcome.CREATED, createdIssue.getNumber());
+        }
+
+        private synchronized void skipped(IssueSpec issue) {
+            skipped++;
+            report(issue, IssueImportProgress.Outcome.SKIPPED, 0);
+        }
+
+        private synchronized void failed(IssueSpec issue, String title, IOException e) {
+            failures.put(title, e);
+            report(issue, IssueImportProgress.Outcome.FAILED, 0);
+        }
+
+        private void report(IssueSpec issue, IssueImportProgress.Outcome outcome, int number) {
+            if (consumer == null || stopped) {
+                return;
+            }
+            try {
+                consumer.accept(IssueImportProgress.builder()
+                        .issue(issue)
+                        .outcome(outcome)
+                        .number(number)
+                        .created(created)
+                        .skipped(skipped)
+                        .failed(failures.size())
+                        .build());
+            } catch (RuntimeException e) {
+                failure = e;
+                stopped = true;
+            }
+        }
+
+        private synchronized void stop() {
+            stopped = true;
+        }
+
+        private synchronized List<IndexedIssue> getCreatedIssues() {
+            return new ArrayList<>(createdIssues);
+        }
+
+        private synchronized IssueImportResult result() {
+            if (failure != null) {
+                throw failure;
+            }
+            return IssueImportResult.builder()
+                    .created(created)
+                    .skipped(skipped)
+                    .failures(Map.copyOf(failures))
+                    .build();
+        }
+    }
+
+    /**
+     * Builder for IssueImport instances.
+     */
+    public static class Builder {
+        private final RepositoryHandler repository;
+        private int concurrency = DEFAULT_CONCURRENCY;
+        private double creationsPerSecond = DEFAULT_CREATIONS_PER_SECOND;
+        private boolean deduplicate = true;
+        private IssueIndex index;
+
+        private Builder(RepositoryHandler repository) {
+            this.repository = repository;
+        }
+
+        /**
+         * Sets the maximum number of issues created at the same time.
+         *
+         * @param concurrency Concurrency limit
+         * @return this builder
+         */
+        public Builder concurrency(int concurrency) {
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("Concurrency limit must be positive: " + concurrency);
+            }
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * Sets the sustained rate at which issues are created.
+         *
+         * @param creationsPerSecond Issues per second
+         * @return this builder
+         */
+        public Builder creationsPerSecond(double creationsPerSecond) {
+            if (creationsPerSecond <= 0) {
+                throw new IllegalArgumentException("Creation rate must be positive: " + creationsPerSecond);
+            }
+            this.creationsPerSecond = creationsPerSecond;
+            return this;
+        }
+
+        /**
+         * Sets whether issues whose title already exists, or repeats within the input, are skipped.
+         * Enabled by default; disabling it saves syncing the index of existing issues.
+         *
+         * @param deduplicate true to skip duplicate titles
+         * @return this builder
+         */
+        public Builder deduplicate(boolean deduplicate) {
+            this.deduplicate = deduplicate;
+            return this;
+        }
+
+        /**
+         * Sets the index used to find existing titles. A persisted index is synced instead of
+         * listing all issues, and the created issues are added to it.
+         *
+         * @param index Index of the issues of the repository
+         * @return this builder
+         */
+        public Builder index(IssueIndex index) {
+            this.index = index;
+            return this;
+        }
+
+        /**
+         * Creates the import.
+         *
+         * @return new IssueImport
+         */
+        public IssueImport build() {
+            return new IssueImport(this);
+        }
+    }
+}
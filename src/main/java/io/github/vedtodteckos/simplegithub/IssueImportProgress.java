@@ -0,0 +1,59 @@
+package io.github.vedtodteckos.simplegithub;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Progress of an {@link IssueImport}, reported after each issue has been handled.
+ */
+@Value
+@Builder
+public class IssueImportProgress {
+    /**
+     * The issue just handled.
+     */
+    IssueSpec issue;
+
+    /**
+     * What happened to the issue just handled.
+     */
+    Outcome outcome;
+
+    /**
+     * Number of the created issue, or 0 if it wasn't created.
+     */
+    int number;
+
+    /**
+     * Issues created so far.
+     */
+    int created;
+
+    /**
+     * Issues skipped so far because an issue with the same title exists.
+     */
+    int skipped;
+
+    /**
+     * Issues that failed so far.
+     */
+    int failed;
+
+    /**
+     * Gets the number of issues handled so far.
+     *
+     * @return created, skipped and failed issues
+     */
+    public int getProcessed() {
+        return created + skipped + failed;
+    }
+
+    /**
+     * What happened to an imported issue.
+     */
+    public enum Outcome {
+        CREATED,
+        SKIPPED,
+        FAILED
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.vedtodteckos.simplegithub;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Outcome of an {@link IssueImport} run.
+ */
+@Value
+@Builder
+public class IssueImportResult {
+    /**
+     * Issues created in this run.
+     */
+    int created;
+
+    /**
+     * Issues skipped because an issue with the same title already existed or appeared earlier in the input.
+     */
+    int skipped;
+
+    /**
+     * Failure per title of the issues that could not be created.
+     */
+    Map<String, IOException> failures;
+
+    /**
+     * Checks whether every issue was created or skipped.
+     *
+     * @return true if no issue failed
+     */
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+}
@@ -0,0 +1,510 @@
+package io.github.vedtodteckos.simplegithub;
+
+import org.kohsuke.github.GHDirection;
+import org.kohsuke.github.GHIssue;
+import org.kohsuke.github.GHIssueQueryBuilder;
+import org.kohsuke.github.GHIssueState;
+import org.kohsuke.github.GHLabel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Local index of the issues and pull requests of one repository, for duplicate checks and
+ * searches without listing the issues through the API.
+ * <p>
+ * Numbers, titles, labels and states are kept in memory, with hash lookups by number and by
+ * title and a sorted title set for prefix searches. Titles are compared ignoring case and
+ * repeated whitespace, and split into words for token searches.
+ * <p>
+ * The index can be persisted to an append-only file. {@link #sync} fetches only the issues
+ * updated since the last sync, using the {@code since} filter of the issue listing, and appends
+ * them as one block; later records of an issue replace earlier ones. The file is rewritten once
+ * it holds mostly outdated records, and a block left incomplete by a crash is discarded when the
+ * index is opened. Issues that are deleted or transferred to another repository don't show up
+ * in the listing; they stay in the index unless a {@link WebhookReceiver} reports them.
+ */
+public class IssueIndex {
+    private static final int MAGIC = 0x53474949;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Path file;
+    private final Map<Integer, IndexedIssue> issues = new HashMap<>();
+    private final Map<String, Set<Integer>> byTitle = new HashMap<>();
+    private final TreeSet<String> titles = new TreeSet<>();
+    private final Map<String, Set<Integer>> byToken = new HashMap<>();
+    private Instant syncedUntil;
+    private int records;
+
+    /**
+     * Creates an index kept in memory only.
+     */
+    public IssueIndex() {
+        this.file = null;
+    }
+
+    /**
+     * Opens a persisted index, loading the issues stored by earlier runs.
+     *
+     * @param file Index file, created on the first sync
+     * @throws IOException if the file exists but cannot be read or isn't an issue index
+     */
+    public IssueIndex(Path file) throws IOException {
+        this.file = file;
+        if (Files.exists(file)) {
+            load();
+        }
+    }
+
+    /**
+     * Fetches the issues and pull requests updated since the last sync and adds them to the index.
+     * The first sync of an empty index lists all issues of the repository.
+     * <p>
+     * The listing is fetched without holding the index lock, so lookups aren't blocked while
+     * pages are loading. Issues that changed in the index in the meantime are only replaced by
+     * newer records.
+     *
+     * @param repository Repository the index belongs to
+     * @return Number of issues added or changed
+     * @throws IOException if the issues cannot be fetched or stored
+     */
+    public int sync(RepositoryHandler repository) throws IOException {
+        Instant from = getSyncedUntil();
+        GHIssueQueryBuilder.ForRepository query = repository.getRepository().queryIssues();
+        query.state(GHIssueState.ALL);
+        query.sort(GHIssueQueryBuilder.Sort.UPDATED);
+        query.direction(GHDirection.ASC);
+        query.pageSize(PagedStreams.MAX_PAGE_SIZE);
+        if (from != null) {
+            // The filter is inclusive, so issues updated at that very moment are fetched again
+            query.since(Date.from(from));
+        }
+        List<IndexedIssue> listed = new ArrayList<>();
+        for (GHIssue issue : query.list()) {
+            listed.add(of(issue));
+        }
+        return apply(listed, syncPoint(listed, from));
+    }
+
+    /**
+     * Gets the point the next sync starts from, given a listing sorted by ascending update time.
+     */
+    static Instant syncPoint(List<IndexedIssue> listed, Instant from) {
+        Map<Integer, IndexedIssue> seen = new HashMap<>();
+        Instant until = from;
+        Instant moved = null;
+        for (IndexedIssue issue : listed) {
+            IndexedIssue previous = seen.put(issue.getNumber(), issue);
+            if (previous != null && (moved == null || isBefore(previous.getUpdatedAt(), moved))) {
+                // The issue was updated while being listed and moved to the end, shifting the
+                // issues after its old position; one of them may have been skipped at a page break
+                moved = previous.getUpdatedAt();
+            }
+            if (issue.getUpdatedAt() != null && (until == null || issue.getUpdatedAt().isAfter(until))) {
+                until = issue.getUpdatedAt();
+            }
+        }
+        if (moved != null && isBefore(moved, until)) {
+            // Skipped issues were updated no earlier than the moved issue's old position
+            until = moved;
+        }
+        return until;
+    }
+
+    /**
+     * Stores the result of a listing. Later records of an issue replace earlier ones, records
+     * older than the indexed ones are ignored, and the sync point never moves backwards.
+     */
+    synchronized int apply(List<IndexedIssue> listed, Instant until) throws IOException {
+        Map<Integer, IndexedIssue> latest = new LinkedHashMap<>();
+        for (IndexedIssue issue : listed) {
+            latest.put(issue.getNumber(), issue);
+        }
+        List<IndexedIssue> changed = new ArrayList<>();
+        for (IndexedIssue issue : latest.values()) {
+            IndexedIssue current = issues.get(issue.getNumber());
+            if (!issue.equals(current) && (current == null || !isBefore(issue.getUpdatedAt(), current.getUpdatedAt()))) {
+                changed.add(issue);
+            }
+        }
+        if (until == null || isBefore(until, syncedUntil)) {
+            // Another sync got further in the meantime
+            until = syncedUntil;
+        }
+        if (!changed.isEmpty() || !Objects.equals(until, syncedUntil)) {
+            append(changed, List.of(), until);
+        }
+        return changed.size();
+    }
+
+    /**
+     * Gets an issue or pull request by number.
+     *
+     * @param number Issue number
+     * @return The indexed issue, or null if it isn't in the index
+     */
+    public synchronized IndexedIssue get(int number) {
+        return issues.get(number);
+    }
+
+    /**
+     * Checks whether an issue or pull request with the given title exists.
+     *
+     * @param title Title to look for; case and repeated whitespace are ignored
+     * @return true if an indexed issue has the title
+     */
+    public synchronized boolean containsTitle(String title) {
+        return byTitle.containsKey(normalize(title));
+    }
+
+    /**
+     * Finds the issues and pull requests with the given title.
+     *
+     * @param title Title to look for; case and repeated whitespace are ignored
+     * @return Matching issues by ascending number
+     */
+    public synchronized List<IndexedIssue> findByTitle(String title) {
+        return resolve(byTitle.getOrDefault(normalize(title), Set.of()));
+    }
+
+    /**
+     * Finds the issues and pull requests whose title starts with the given prefix.
+     *
+     * @param prefix Title prefix; case and repeated whitespace are ignored
+     * @return Matching issues by ascending number
+     */
+    public synchronized List<IndexedIssue> findByTitlePrefix(String prefix) {
+        String normalized = normalize(prefix);
+        Set<Integer> numbers = new HashSet<>();
+        for (String title : titles.tailSet(normalized, true)) {
+            if (!title.startsWith(normalized)) {
+                break;
+            }
+            numbers.addAll(byTitle.get(title));
+        }
+        return resolve(numbers);
+    }
+
+    /**
+     * Finds the issues and pull requests whose title contains every word of the query.
+     * Words are runs of letters and digits; their order doesn't matter.
+     *
+     * @param query Words to look for
+     * @return Matching issues by ascending number, or an empty list if the query has no words
+     */
+    public synchronized List<IndexedIssue> search(String query) {
+        Set<String> words = tokens(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> numbers = null;
+        for (String word : words) {
+            Set<Integer> matches = byToken.getOrDefault(word, Set.of());
+            if (numbers == null) {
+                numbers = new HashSet<>(matches);
+            } else {
+                numbers.retainAll(matches);
+            }
+        }
+        return resolve(numbers);
+    }
+
+    /**
+     * Gets the latest update time seen by the last sync.
+     *
+     * @return Update time the next sync starts from, or null if the index was never synced
+     */
+    public synchronized Instant getSyncedUntil() {
+        return syncedUntil;
+    }
+
+    /**
+     * Gets the number of indexed issues and pull requests.
+     *
+     * @return number of issues
+     */
+    public synchronized int size() {
+        return issues.size();
+    }
+
+    /**
+     * Adds or replaces issues learnt about outside a sync, such as issues just created.
+     * Records older than the indexed ones are ignored, so a late webhook delivery doesn't undo a
+     * newer change. The next sync still starts from the same point, so it picks them up again.
+     */
+    synchronized void update(Collection<IndexedIssue> updated) throws IOException {
+        List<IndexedIssue> fresh = new ArrayList<>();
+        for (IndexedIssue issue : updated) {
+            IndexedIssue current = issues.get(issue.getNumber());
+            if (current == null || !isBefore(issue.getUpdatedAt(), current.getUpdatedAt())) {
+                fresh.add(issue);
+            }
+        }
+        if (!fresh.isEmpty()) {
+            append(fresh, List.of(), syncedUntil);
+        }
+    }
+
+    /**
+     * Removes an issue that no longer belongs to the repository, because it was deleted or
+     * transferred to another repository.
+     */
+    synchronized void remove(int number) throws IOException {
+        if (issues.containsKey(number)) {
+            append(List.of(), List.of(number), syncedUntil);
+        }
+    }
+
+    /**
+     * Checks whether an update time lies before another; unknown times are never before anything.
+     */
+    private static boolean isBefore(Instant time, Instant other) {
+        return time != null && other != null && time.isBefore(other);
+    }
+
+    static IndexedIssue of(GHIssue issue) throws IOException {
+        List<String> labels = new ArrayList<>();
+        for (GHLabel label : issue.getLabels()) {
+            labels.add(label.getName());
+        }
+        Date updatedAt = issue.getUpdatedAt();
+        return IndexedIssue.builder()
+                .number(issue.getNumber())
+                .title(issue.getTitle())
+                .state(issue.getState() == GHIssueState.OPEN ? "OPEN" : "CLOSED")
+                .labels(labels)
+                .pullRequest(issue.isPullRequest())
+                .updatedAt(updatedAt != null ? updatedAt.toInstant() : null)
+                .build();
+    }
+
+    /**
+     * Normalizes a title for comparison: trimmed, lower case, with whitespace runs collapsed.
+     */
+    static String normalize(String title) {
+        return WHITESPACE.matcher(title.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> tokens(String text) {
+        Set<String> tokens = new HashSet<>();
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private List<IndexedIssue> resolve(Set<Integer> numbers) {
+        List<IndexedIssue> resolved = new ArrayList<>();
+        for (int number : new TreeSet<>(numbers)) {
+            resolved.add(issues.get(number));
+        }
+        return resolved;
+    }
+
+    private void put(IndexedIssue issue) {
+        IndexedIssue previous = issues.put(issue.getNumber(), issue);
+        if (previous != null) {
+            unindex(previous);
+        }
+        String title = normalize(issue.getTitle());
+        byTitle.computeIfAbsent(title, key -> new HashSet<>()).add(issue.getNumber());
+        titles.add(title);
+        for (String token : tokens(issue.getTitle())) {
+            byToken.computeIfAbsent(token, key -> new HashSet<>()).add(issue.getNumber());
+        }
+    }
+
+    private void drop(int number) {
+        IndexedIssue previous = issues.remove(number);
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+
+    private void unindex(IndexedIssue issue) {
+        String title = normalize(issue.getTitle());
+        remove(byTitle, title, issue.getNumber());
+        if (!byTitle.containsKey(title)) {
+            titles.remove(title);
+        }
+        for (String token : tokens(issue.getTitle())) {
+            remove(byToken, token, issue.getNumber());
+        }
+    }
+
+    private static void remove(Map<String, Set<Integer>> index, String key, int number) {
+        Set<Integer> numbers = index.get(key);
+        if (numbers != null && numbers.remove(number) && numbers.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private void append(Collection<IndexedIssue> updated, Collection<Integer> removed, Instant until) throws IOException {
+        if (file != null) {
+            int added = updated.size() + removed.size();
+            if (records + added > 2 * (issues.size() + added) + 100) {
+                // Most records are outdated; rewrite the file with the current state and the update
+                Map<Integer, IndexedIssue> current = new TreeMap<>(issues);
+                updated.forEach(issue -> current.put(issue.getNumber(), issue));
+                removed.forEach(current::remove);
+                rewrite(current.values(), until);
+            } else {
+                boolean created = !Files.exists(file) || Files.size(file) == 0;
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    write(channel, encode(updated, removed, until, created));
+                }
+                records += added;
+            }
+        }
+        updated.forEach(this::put);
+        removed.forEach(this::drop);
+        syncedUntil = until;
+    }
+
+    private void rewrite(Collection<IndexedIssue> current, Instant until) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(channel, encode(current, List.of(), until, true));
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        records = current.size();
+    }
+
+    private static void write(FileChannel channel, ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            channel.write(data);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Encodes one block: its length, the sync point, the issues and the numbers of removed issues.
+     */
+    private static ByteBuffer encode(Collection<IndexedIssue> updated, Collection<Integer> removed, Instant until,
+            boolean header) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream block = new DataOutputStream(bytes);
+        block.writeLong(until != null ? until.toEpochMilli() : Long.MIN_VALUE);
+        block.writeInt(updated.size());
+        for (IndexedIssue issue : updated) {
+            block.writeInt(issue.getNumber());
+            block.writeUTF(issue.getTitle());
+            block.writeBoolean("OPEN".equals(issue.getState()));
+            block.writeBoolean(issue.isPullRequest());
+            block.writeLong(issue.getUpdatedAt() != null ? issue.getUpdatedAt().toEpochMilli() : Long.MIN_VALUE);
+            block.writeShort(issue.getLabels().size());
+            for (String label : issue.getLabels()) {
+                block.writeUTF(label);
+            }
+        }
+        block.writeInt(removed.size());
+        for (int number : removed) {
+            block.writeInt(number);
+        }
+        block.flush();
+
+        ByteBuffer data = ByteBuffer.allocate((header ? HEADER_SIZE : 0) + Integer.BYTES + bytes.size());
+        if (header) {
+            data.putInt(MAGIC).putInt(VERSION);
+        }
+        data.putInt(bytes.size()).put(bytes.toByteArray());
+        return data.flip();
+    }
+
+    private void load() throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (data.remaining() < HEADER_SIZE) {
+            // The header is written with the first block; drop what a crash left of it so the
+            // next append writes it again
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(0);
+            }
+            return;
+        }
+        if (data.getInt() != MAGIC) {
+            throw new IOException(file + " is not an issue index");
+        }
+        int version = data.getInt();
+        if (version != VERSION) {
+            throw new IOException(file + " has unsupported version " + version);
+        }
+        int valid = data.position();
+        while (data.remaining() >= Integer.BYTES) {
+            int length = data.getInt();
+            if (length < 0 || data.remaining() < length) {
+                break;
+            }
+            DataInputStream block = new DataInputStream(new ByteArrayInputStream(data.array(), data.position(), length));
+            data.position(data.position() + length);
+            long until = block.readLong();
+            int count = block.readInt();
+            for (int i = 0; i < count; i++) {
+                put(decode(block));
+            }
+            int removedCount = block.readInt();
+            for (int i = 0; i < removedCount; i++) {
+                drop(block.readInt());
+            }
+            records += count + removedCount;
+            syncedUntil = until != Long.MIN_VALUE ? Instant.ofEpochMilli(until) : null;
+            valid = data.position();
+        }
+        if (valid < data.limit()) {
+            // Drop the incomplete block of an interrupted sync so later appends stay aligned
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+            }
+        }
+    }
+
+    private static IndexedIssue decode(DataInputStream block) throws IOException {
+        int number = block.readInt();
+        String title = block.readUTF();
+        boolean open = block.readBoolean();
+        boolean pullRequest = block.readBoolean();
+        long updatedAt = block.readLong();
+        int labelCount = block.readShort();
+        List<String> labels = new ArrayList<>(labelCount);
+        for (int i = 0; i < labelCount; i++) {
+            labels.add(block.readUTF());
+        }
+        return IndexedIssue.builder()
+                .number(number)
+                .title(title)
+                .state(open ? "OPEN" : "CLOSED")
+                .labels(labels)
+                .pullRequest(pullRequest)
+                .updatedAt(updatedAt != Long.MIN_VALUE ? Instant.ofEpochMilli(updatedAt) : null)
+                .build();
+    }
+}
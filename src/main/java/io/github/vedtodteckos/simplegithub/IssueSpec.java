@@ -0,0 +1,31 @@
+package io.github.vedtodteckos.simplegithub;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Description of an issue to create in a bulk import.
+ */
+@Value
+@Builder
+public class IssueSpec {
+    /**
+     * Issue title. Issues are deduplicated by title, ignoring case and repeated whitespace.
+     * Building a spec without a title fails.
+     */
+    @NonNull
+    String title;
+
+    /**
+     * Issue body, or null for none.
+     */
+    String body;
+
+    /**
+     * Labels to add, or null for none.
+     */
+    List<String> labels;
+}
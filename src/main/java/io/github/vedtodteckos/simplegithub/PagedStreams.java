@@ -0,0 +1,49 @@
+package io.github.vedtodteckos.simplegithub;
+
+import org.kohsuke.github.PagedIterable;
+
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Exposes paginated GitHub listings as lazy streams.
+ * A page is only requested once the stream consumes past the end of the previous one,
+ * so short-circuiting operations such as {@code limit} or {@code findFirst} stop fetching early.
+ * Failures while fetching a later page surface as an unchecked {@code GHException}.
+ */
+final class PagedStreams {
+    /**
+     * Largest page size accepted by the GitHub API.
+     */
+    static final int MAX_PAGE_SIZE = 100;
+
+    private PagedStreams() {
+    }
+
+    /**
+     * Streams a listing using the API's default page size.
+     *
+     * @param iterable Paginated listing
+     * @param <T> Element type
+     * @return lazy stream over all elements
+     */
+    static <T> Stream<T> stream(PagedIterable<T> iterable) {
+        return StreamSupport.stream(iterable.spliterator(), false);
+    }
+
+    /**
+     * Streams a listing with the given page size hint.
+     * Hints above {@link #MAX_PAGE_SIZE} are capped.
+     *
+     * @param iterable Paginated listing
+     * @param pageSize Number of elements to request per page
+     * @param <T> Element type
+     * @return lazy stream over all elements
+     */
+    static <T> Stream<T> stream(PagedIterable<T> iterable, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        return stream(iterable.withPageSize(Math.min(pageSize, MAX_PAGE_SIZE)));
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.vedtodteckos.simplegithub;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Activity on a pull request, as delivered by a webhook.
+ */
+@Value
+@Builder
+public class PullRequestEvent {
+    String owner;
+
+    String repository;
+
+    /**
+     * What happened, such as opened, closed, synchronize or labeled.
+     */
+    String action;
+
+    int number;
+
+    String title;
+
+    /**
+     * OPEN or CLOSED; merged pull requests are CLOSED.
+     */
+    String state;
+
+    boolean merged;
+
+    List<String> labels;
+
+    /**
+     * SHA of the head commit.
+     */
+    String headSha;
+
+    /**
+     * Name of the branch the pull request merges into.
+     */
+    String base;
+
+    Instant updatedAt;
+}
@@ -1,11 +1,15 @@
 package io.github.vedtodteckos.simplegithub;
 
+import io.github.vedtodteckos.simplegithub.rest.GitHubRestClient;
+import io.github.vedtodteckos.simplegithub.rest.PullRequestEdit;
 import lombok.RequiredArgsConstructor;
 import org.kohsuke.github.*;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 /**
@@ -19,6 +23,17 @@ import java.util.stream.StreamSupport;
 @RequiredArgsConstructor
 public class PullRequestHandler {
     private final GHPullRequest pullRequest;
+    private final GitHubRestClient restClient;
+
+    /**
+     * Creates a handler without a REST client.
+     * Edits are then made through the GitHub API library, one request per change.
+     *
+     * @param pullRequest The pull request to manage
+     */
+    public PullRequestHandler(GHPullRequest pullRequest) {
+        this(pullRequest, null);
+    }
 
     /**
      * Gets the current state of the pull request.
@@ -63,16 +78,38 @@ public class PullRequestHandler {
 
     /**
      * Removes labels from the pull request.
+     * A single label takes one request; several labels are removed by replacing the label set.
      *
      * @param labels One or more label names to remove from the pull request
      * @throws IOException if the GitHub API request fails
      */
     public void removeLabels(String... labels) throws IOException {
+        if (restClient != null) {
+            edit(PullRequestEdit.builder().removeLabels(labels).build());
+            return;
+        }
         for (String label : labels) {
             pullRequest.removeLabel(label);
         }
     }
 
+    /**
+     * Applies several changes to the pull request with as few requests as possible.
+     * Title, body, base branch and state are changed with a single request.
+     *
+     * @param edit Changes to apply
+     * @throws IOException if a request fails; changes made by earlier requests remain applied
+     * @throws IllegalStateException if the handler was created without a REST client
+     * @see PullRequestEdit
+     */
+    public void edit(PullRequestEdit edit) throws IOException {
+        if (restClient == null) {
+            throw new IllegalStateException("Pull request edits need a REST client; create the repository handler with one");
+        }
+        GHRepository repository = pullRequest.getRepository();
+        restClient.editPullRequest(repository.getOwnerName(), repository.getName(), pullRequest.getNumber(), edit);
+    }
+
     /**
      * Merges the pull request using the specified merge method.
      *
@@ -101,21 +138,56 @@ public class PullRequestHandler {
      * @throws IOException if the GitHub API request fails
      */
     public List<String> getCommits() throws IOException {
-        return StreamSupport.stream(pullRequest.listCommits().spliterator(), false)
-                .map(commit -> {
-                    return commit.getSha();
-                })
-                .collect(Collectors.toList());
+        return streamCommits().collect(Collectors.toList());
     }
 
     /**
-     * Updates the pull request title and body.
+     * Streams the commit SHA hashes in the pull request.
+     * Pages are fetched as the stream is consumed.
+     *
+     * @return Lazy stream of commit SHA hashes
+     * @throws IOException if the GitHub API request fails
+     */
+    public Stream<String> streamCommits() throws IOException {
+        return PagedStreams.stream(pullRequest.listCommits())
+                .map(GHPullRequestCommitDetail::getSha);
+    }
+
+    /**
+     * Streams the commit SHA hashes in the pull request with a page size hint.
+     *
+     * @param pageSize Number of commits to request per page (at most 100)
+     * @return Lazy stream of commit SHA hashes
+     * @throws IOException if the GitHub API request fails
+     */
+    public Stream<String> streamCommits(int pageSize) throws IOException {
+        return PagedStreams.stream(pullRequest.listCommits(), pageSize)
+                .map(GHPullRequestCommitDetail::getSha);
+    }
+
+    /**
+     * Iterates over the commit SHA hashes in the pull request.
+     * Pages are fetched as the iterator advances.
+     *
+     * @return Lazy iterator of commit SHA hashes
+     * @throws IOException if the GitHub API request fails
+     */
+    public Iterator<String> iterateCommits() throws IOException {
+        return streamCommits().iterator();
+    }
+
+    /**
+     * Updates the pull request title and body with a single request.
      *
      * @param title The new title for the pull request
      * @param body The new description/body text for the pull request
      * @throws IOException if the GitHub API request fails
      */
     public void update(String title, String body) throws IOException {
+        if (restClient != null) {
+            edit(PullRequestEdit.builder().title(title).body(body).build());
+            return;
+        }
         pullRequest.setTitle(title);
         pullRequest.setBody(body);
     }
@@ -128,8 +200,40 @@ public class PullRequestHandler {
      * @throws IOException if the GitHub API request fails
      */
     public List<GHPullRequestReviewComment> getReviewComments() throws IOException {
-        return StreamSupport.stream(pullRequest.listReviewComments().spliterator(), false)
-                .collect(Collectors.toList());
+        return streamReviewComments().collect(Collectors.toList());
+    }
+
+    /**
+     * Streams the review comments on the pull request.
+     * Pages are fetched as the stream is consumed.
+     *
+     * @return Lazy stream of pull request review comments
+     * @throws IOException if the GitHub API request fails
+     */
+    public Stream<GHPullRequestReviewComment> streamReviewComments() throws IOException {
+        return PagedStreams.stream(pullRequest.listReviewComments());
+    }
+
+    /**
+     * Streams the review comments on the pull request with a page size hint.
+     *
+     * @param pageSize Number of review comments to request per page (at most 100)
+     * @return Lazy stream of pull request review comments
+     * @throws IOException if the GitHub API request fails
+     */
+    public Stream<GHPullRequestReviewComment> streamReviewComments(int pageSize) throws IOException {
+        return PagedStreams.stream(pullRequest.listReviewComments(), pageSize);
+    }
+
+    /**
+     * Iterates over the review comments on the pull request.
+     * Pages are fetched as the iterator advances.
+     *
+     * @return Lazy iterator of pull request review comments
+     * @throws IOException if the GitHub API request fails
+     */
+    public Iterator<GHPullRequestReviewComment> iterateReviewComments() throws IOException {
+        return streamReviewComments().iterator();
     }
 
     /**
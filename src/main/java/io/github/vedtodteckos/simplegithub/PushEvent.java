@@ -0,0 +1,36 @@
+package io.github.vedtodteckos.simplegithub;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A push to a repository, as delivered by a webhook.
+ */
+@Value
+@Builder
+public class PushEvent {
+    String owner;
+
+    String repository;
+
+    /**
+     * Full name of the pushed ref, such as {@code refs/heads/main}.
+     */
+    String ref;
+
+    /**
+     * SHA of the ref before the push; all zeros if the ref was created.
+     */
+    String before;
+
+    /**
+     * SHA of the ref after the push; all zeros if the ref was deleted.
+     */
+    String after;
+
+    boolean created;
+
+    boolean deleted;
+
+    boolean forced;
+}
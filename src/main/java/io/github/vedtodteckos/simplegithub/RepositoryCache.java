@@ -0,0 +1,130 @@
+package io.github.vedtodteckos.simplegithub;
+
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GitHub;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of repository metadata shared by repository handlers.
+ * Entries are served from memory until their time-to-live expires. A stale entry is fetched
+ * again through the GitHub connection, so the request is paced and coalesced like any other.
+ * With a response cache configured on the connection, that request is conditional: an
+ * unchanged repository is answered with 304 Not Modified and rebuilt from the cached response.
+ * Owner and repository names are matched ignoring case.
+ */
+public class RepositoryCache {
+    /**
+     * Time-to-live used when none is configured.
+     */
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(1);
+
+    private final GitHub github;
+    private final Duration ttl;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new repository cache.
+     *
+     * @param github GitHub connection used to fetch repositories
+     * @param ttl How long fetched metadata is served without revalidation
+     */
+    public RepositoryCache(GitHub github, Duration ttl) {
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("Cache TTL must not be negative: " + ttl);
+        }
+        this.github = github;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Gets the repository, fetching it if the cached copy is missing or stale.
+     *
+     * @param owner Repository owner
+     * @param name Repository name
+     * @return The GitHub API repository object
+     * @throws IOException if the repository cannot be accessed
+     */
+    public GHRepository get(String owner, String name) throws IOException {
+        Entry entry = entries.get(key(owner + "/" + name));
+        long now = System.nanoTime();
+        if (entry != null && now - entry.fetchedAt < ttl.toNanos()) {
+            return entry.repository;
+        }
+        return load(owner + "/" + name);
+    }
+
+    /**
+     * Fetches the repository again, bypassing any cached copy.
+     *
+     * @param owner Repository owner
+     * @param name Repository name
+     * @return The freshly fetched repository object
+     * @throws IOException if the repository cannot be accessed
+     */
+    public GHRepository refresh(String owner, String name) throws IOException {
+        return load(owner + "/" + name);
+    }
+
+    /**
+     * Caches a repository obtained elsewhere, such as from a repository listing.
+     *
+     * @param repository Repository to cache
+     */
+    void put(GHRepository repository) {
+        entries.put(key(repository.getFullName()), new Entry(repository, System.nanoTime()));
+    }
+
+    /**
+     * Drops the cached copy of a repository so the next access fetches it again.
+     *
+     * @param owner Repository owner
+     * @param name Repository name
+     */
+    public void invalidate(String owner, String name) {
+        entries.remove(key(owner + "/" + name));
+    }
+
+    /**
+     * Drops all cached repositories.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the time-to-live of cached entries.
+     *
+     * @return cache time-to-live
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    private GHRepository load(String fullName) throws IOException {
+        GHRepository repository = github.getRepository(fullName);
+        entries.put(key(fullName), new Entry(repository, System.nanoTime()));
+        return repository;
+    }
+
+    /**
+     * Gets the key of a repository; GitHub treats owner and repository names case-insensitively.
+     */
+    private static String key(String fullName) {
+        return fullName.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Entry {
+        private final GHRepository repository;
+        private final long fetchedAt;
+
+        private Entry(GHRepository repository, long fetchedAt) {
+            this.repository = repository;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
@@ -1,18 +1,21 @@
 package io.github.vedtodteckos.simplegithub;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.stream.Stream;
 
+import io.github.vedtodteckos.simplegithub.rest.GitHubRestClient;
 import org.kohsuke.github.GHBranch;
 import org.kohsuke.github.GHIssueState;
 import org.kohsuke.github.GHPullRequest;
+import org.kohsuke.github.GHRef;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GHWorkflow;
 import org.kohsuke.github.GitHub;
-
-import lombok.RequiredArgsConstructor;
+import org.kohsuke.github.PagedIterable;
 
 /**
  * Handles operations related to a specific GitHub repository.
@@ -22,12 +25,69 @@ import lombok.RequiredArgsConstructor;
  * - GitHub Actions Workflows
  * - Repository Secrets
  */
-@RequiredArgsConstructor
 public class RepositoryHandler {
-    private final GitHub github;
+    private final RepositoryCache repositoryCache;
+    private final GitHubRestClient restClient;
     private final String owner;
     private final String name;
 
+    /**
+     * Creates a new repository handler with its own repository cache.
+     * Without a REST client, workflow run queries are not available.
+     *
+     * @param github GitHub connection
+     * @param owner Repository owner
+     * @param name Repository name
+     */
+    public RepositoryHandler(GitHub github, String owner, String name) {
+        this(github, null, owner, name);
+    }
+
+    /**
+     * Creates a new repository handler with its own repository cache.
+     *
+     * @param github GitHub connection
+     * @param restClient REST client for endpoints the GitHub connection doesn't cover, or null
+     * @param owner Repository owner
+     * @param name Repository name
+     */
+    public RepositoryHandler(GitHub github, GitHubRestClient restClient, String owner, String name) {
+        this(new RepositoryCache(github, RepositoryCache.DEFAULT_TTL), restClient, owner, name);
+    }
+
+    /**
+     * Creates a new repository handler backed by a shared repository cache.
+     *
+     * @param repositoryCache Cache the repository metadata is read from
+     * @param restClient REST client for endpoints the GitHub connection doesn't cover, or null
+     * @param owner Repository owner
+     * @param name Repository name
+     */
+    RepositoryHandler(RepositoryCache repositoryCache, GitHubRestClient restClient, String owner, String name) {
+        this.repositoryCache = repositoryCache;
+        this.restClient = restClient;
+        this.owner = owner;
+        this.name = name;
+    }
+
+    /**
+     * Gets the owner of the repository.
+     *
+     * @return Repository owner
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Gets the name of the repository.
+     *
+     * @return Repository name
+     */
+    public String getName() {
+        return name;
+    }
+
     /**
      * Creates a new issue builder for this repository.
      *
@@ -40,6 +100,20 @@ public class RepositoryHandler {
         return new IssueBuilder(repository.createIssue(title));
     }
 
+    /**
+     * Creates many issues, skipping those whose title already exists in the repository.
+     * Issues are created a few at a time and paced to stay clear of GitHub's secondary rate
+     * limits; use {@link IssueImport#builder(RepositoryHandler)} to change the defaults.
+     *
+     * @param issues Issues to create
+     * @param progress Receives the progress after each issue, or null
+     * @return Counts of created and skipped issues and the failure per title
+     * @throws IOException if the existing issues cannot be listed
+     */
+    public IssueImportResult importIssues(Stream<IssueSpec> issues, Consumer<IssueImportProgress> progress) throws IOException {
+        return IssueImport.builder(this).build().run(issues, progress);
+    }
+
     /**
      * Gets the repository description.
      *
@@ -91,6 +165,55 @@ public class RepositoryHandler {
         return getRepository().getBranches().keySet().stream().collect(Collectors.toList());
     }
 
+    /**
+     * Gets the name, HEAD SHA-1 and protection of every branch in the repository.
+     * The state comes from the paginated branch listing, so no request is made per branch.
+     *
+     * @return Snapshots of all branches
+     * @throws IOException if the repository cannot be accessed
+     */
+    public List<BranchSnapshot> getBranches() throws IOException {
+        return getRepository().getBranches().values().stream()
+                .map(BranchSnapshot::of)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Streams the branch names of the repository.
+     * Pages are fetched as the stream is consumed.
+     *
+     * @return Lazy stream of branch names
+     * @throws IOException if the repository cannot be accessed
+     */
+    public Stream<String> streamBranchNames() throws IOException {
+        return PagedStreams.stream(getRepository().listRefs("heads"))
+                .map(RepositoryHandler::branchName);
+    }
+
+    /**
+     * Streams the branch names of the repository with a page size hint.
+     * Pages are fetched as the stream is consumed.
+     *
+     * @param pageSize Number of branches to request per page (at most 100)
+     * @return Lazy stream of branch names
+     * @throws IOException if the repository cannot be accessed
+     */
+    public Stream<String> streamBranchNames(int pageSize) throws IOException {
+        return PagedStreams.stream(getRepository().listRefs("heads"), pageSize)
+                .map(RepositoryHandler::branchName);
+    }
+
+    /**
+     * Iterates over the branch names of the repository.
+     * Pages are fetched as the iterator advances.
+     *
+     * @return Lazy iterator of branch names
+     * @throws IOException if the repository cannot be accessed
+     */
+    public Iterator<String> iterateBranchNames() throws IOException {
+        return streamBranchNames().iterator();
+    }
+
     /**
      * Creates a new branch from the specified source branch.
      *
@@ -128,7 +251,7 @@ public class RepositoryHandler {
      */
     public PullRequestHandler createPullRequest(String title, String head, String base, String body) throws IOException {
         GHPullRequest pr = getRepository().createPullRequest(title, head, base, body);
-        return new PullRequestHandler(pr);
+        return new PullRequestHandler(pr, restClient);
     }
 
     /**
@@ -139,7 +262,7 @@ public class RepositoryHandler {
      * @throws IOException if the pull request cannot be accessed or doesn't exist
      */
     public PullRequestHandler pullRequest(int number) throws IOException {
-        return new PullRequestHandler(getRepository().getPullRequest(number));
+        return new PullRequestHandler(getRepository().getPullRequest(number), restClient);
     }
 
     /**
@@ -149,12 +272,43 @@ public class RepositoryHandler {
      * @throws IOException if the repository cannot be accessed
      */
     public List<PullRequestHandler> getOpenPullRequests() throws IOException {
-        return StreamSupport.stream(getRepository().queryPullRequests()
-                .state(GHIssueState.OPEN)
-                .list()
-                .spliterator(), false)
-                .map(PullRequestHandler::new)
-                .collect(Collectors.toList());
+        return streamOpenPullRequests().collect(Collectors.toList());
+    }
+
+    /**
+     * Streams the open pull requests in the repository.
+     * Pages are fetched as the stream is consumed, so {@code limit(n)} stops fetching early.
+     *
+     * @return Lazy stream of PullRequestHandler instances for the open pull requests
+     * @throws IOException if the repository cannot be accessed
+     */
+    public Stream<PullRequestHandler> streamOpenPullRequests() throws IOException {
+        return PagedStreams.stream(listOpenPullRequests())
+                .map(pullRequest -> new PullRequestHandler(pullRequest, restClient));
+    }
+
+    /**
+     * Streams the open pull requests in the repository with a page size hint.
+     * Use a page size matching the number of elements needed to avoid over-fetching.
+     *
+     * @param pageSize Number of pull requests to request per page (at most 100)
+     * @return Lazy stream of PullRequestHandler instances for the open pull requests
+     * @throws IOException if the repository cannot be accessed
+     */
+    public Stream<PullRequestHandler> streamOpenPullRequests(int pageSize) throws IOException {
+        return PagedStreams.stream(listOpenPullRequests(), pageSize)
+                .map(pullRequest -> new PullRequestHandler(pullRequest, restClient));
+    }
+
+    /**
+     * Iterates over the open pull requests in the repository.
+     * Pages are fetched as the iterator advances.
+     *
+     * @return Lazy iterator of PullRequestHandler instances for the open pull requests
+     * @throws IOException if the repository cannot be accessed
+     */
+    public Iterator<PullRequestHandler> iterateOpenPullRequests() throws IOException {
+        return streamOpenPullRequests().iterator();
     }
 
     /**
@@ -165,7 +319,7 @@ public class RepositoryHandler {
      * @throws IOException if the repository cannot be accessed
      */
     public WorkflowHandler workflow(String workflowId) throws IOException {
-        return new WorkflowHandler(getRepository(), workflowId);
+        return new WorkflowHandler(getRepository(), restClient, workflowId);
     }
 
     /**
@@ -175,10 +329,42 @@ public class RepositoryHandler {
      * @throws IOException if the repository cannot be accessed
      */
     public List<String> getWorkflows() throws IOException {
-        return StreamSupport.stream(getRepository().listWorkflows().spliterator(), false)
-                .map(GHWorkflow::getId)
-                .map(String::valueOf)
-                .collect(Collectors.toList());
+        return streamWorkflows().collect(Collectors.toList());
+    }
+
+    /**
+     * Streams the IDs of the workflows defined in the repository.
+     * Pages are fetched as the stream is consumed.
+     *
+     * @return Lazy stream of workflow IDs
+     * @throws IOException if the repository cannot be accessed
+     */
+    public Stream<String> streamWorkflows() throws IOException {
+        return PagedStreams.stream(getRepository().listWorkflows())
+                .map(RepositoryHandler::workflowId);
+    }
+
+    /**
+     * Streams the IDs of the workflows defined in the repository with a page size hint.
+     *
+     * @param pageSize Number of workflows to request per page (at most 100)
+     * @return Lazy stream of workflow IDs
+     * @throws IOException if the repository cannot be accessed
+     */
+    public Stream<String> streamWorkflows(int pageSize) throws IOException {
+        return PagedStreams.stream(getRepository().listWorkflows(), pageSize)
+                .map(RepositoryHandler::workflowId);
+    }
+
+    /**
+     * Iterates over the IDs of the workflows defined in the repository.
+     * Pages are fetched as the iterator advances.
+     *
+     * @return Lazy iterator of workflow IDs
+     * @throws IOException if the repository cannot be accessed
+     */
+    public Iterator<String> iterateWorkflows() throws IOException {
+        return streamWorkflows().iterator();
     }
 
     /**
@@ -204,13 +390,47 @@ public class RepositoryHandler {
         throw new UnsupportedOperationException("Not implemented");
     }
 
+    /**
+     * Fetches the repository metadata again, bypassing the cache.
+     * Use this after changing the repository outside of this handler.
+     *
+     * @return this handler
+     * @throws IOException if the repository cannot be accessed
+     */
+    public RepositoryHandler refresh() throws IOException {
+        repositoryCache.refresh(owner, name);
+        return this;
+    }
+
+    /**
+     * Drops the cached repository metadata so the next call fetches it again.
+     */
+    public void invalidate() {
+        repositoryCache.invalidate(owner, name);
+    }
+
+    private PagedIterable<GHPullRequest> listOpenPullRequests() throws IOException {
+        return getRepository().queryPullRequests()
+                .state(GHIssueState.OPEN)
+                .list();
+    }
+
+    private static String branchName(GHRef ref) {
+        return ref.getRef().substring("refs/heads/".length());
+    }
+
+    private static String workflowId(GHWorkflow workflow) {
+        return String.valueOf(workflow.getId());
+    }
+
     /**
      * Gets the underlying GHRepository object.
+     * The repository is served from the cache while it is fresh.
      *
      * @return The GitHub API repository object
      * @throws IOException if the repository cannot be accessed
      */
-    private GHRepository getRepository() throws IOException {
-        return github.getRepository(owner + "/" + name);
+    GHRepository getRepository() throws IOException {
+        return repositoryCache.get(owner, name);
     }
 } 
\ No newline at end of file
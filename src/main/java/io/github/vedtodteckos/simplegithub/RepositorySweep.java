@@ -0,0 +1,307 @@
+package io.github.vedtodteckos.simplegithub;
+
+import io.github.vedtodteckos.simplegithub.rest.RateLimitBudget;
+import io.github.vedtodteckos.simplegithub.rest.RateLimitScheduler;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Applies a call to many repositories in parallel, such as all repositories of an organization.
+ * <p>
+ * Repositories are taken from the input stream as workers become free, so a paged listing is
+ * fetched while the first repositories are already being processed. The requests of all
+ * workers are paced by the rate limit scheduler of the SimpleGitHub instance; in addition, no
+ * new repository is started while the remaining core budget is below a reserve, leaving it for
+ * the calls in flight and for other work. Each call can be given a timeout, after which its
+ * thread is interrupted and the repository is reported as failed.
+ */
+public class RepositorySweep {
+    /**
+     * Core requests left untouched by a sweep when no reserve is configured.
+     */
+    public static final int DEFAULT_RESERVE = 100;
+
+    /**
+     * Longest single wait before the budget is checked again.
+     */
+    private static final Duration MAX_BUDGET_WAIT = Duration.ofMinutes(1);
+
+    private static final AtomicInteger SWEEPS = new AtomicInteger();
+
+    private final RateLimitScheduler rateLimitScheduler;
+    private final int concurrency;
+    private final Duration timeout;
+    private final int reserve;
+
+    private RepositorySweep(Builder builder) {
+        this.rateLimitScheduler = builder.github.getRateLimitScheduler();
+        this.concurrency = builder.concurrency;
+        this.timeout = builder.timeout;
+        this.reserve = builder.reserve;
+    }
+
+    /**
+     * Creates a builder for a sweep with the rate limit budget of the given instance.
+     *
+     * @param github SimpleGitHub instance the repositories belong to
+     * @return new builder
+     */
+    public static Builder builder(SimpleGitHub github) {
+        return new Builder(github);
+    }
+
+    /**
+     * Applies the call to every repository, blocking until all of them have been handled.
+     * Failures of individual repositories are reported in the result rather than thrown.
+     * An exception thrown by the input stream, such as a failure to fetch the next page of a
+     * listing, stops the sweep and is rethrown.
+     *
+     * @param repositories Repositories to process
+     * @param call Call made per repository
+     * @param <T> Result type of the call
+     * @return Result or failure per repository
+     * @throws InterruptedIOException if the thread is interrupted; calls in flight are interrupted too
+     */
+    public <T> RepositorySweepResult<T> run(Stream<RepositoryHandler> repositories, RepositoryCall<T> call) throws IOException {
+        Progress<T> progress = new Progress<>(repositories.iterator());
+        String prefix = "simple-github-sweep-" + SWEEPS.incrementAndGet() + "-";
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, new DaemonThreadFactory(prefix));
+        ExecutorService calls = timeout != null ? Executors.newCachedThreadPool(new DaemonThreadFactory(prefix + "call-")) : null;
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                tasks.add(() -> work(progress, call, calls));
+            }
+            for (Future<Void> task : workers.invokeAll(tasks)) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            progress.stop();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Repository sweep was interrupted");
+        } catch (ExecutionException e) {
+            progress.stop();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Repository sweep failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+            if (calls != null) {
+                calls.shutdownNow();
+            }
+        }
+        return progress.result();
+    }
+
+    private <T> Void work(Progress<T> progress, RepositoryCall<T> call, ExecutorService calls) throws InterruptedException {
+        RepositoryHandler repository;
+        while ((repository = progress.next()) != null) {
+            awaitBudget();
+            String fullName = repository.getOwner() + "/" + repository.getName();
+            try {
+                progress.succeeded(fullName, invoke(repository, call, calls));
+            } catch (IOException | RuntimeException | TimeoutException e) {
+                progress.failed(fullName, e);
+            }
+        }
+        return null;
+    }
+
+    private <T> T invoke(RepositoryHandler repository, RepositoryCall<T> call, ExecutorService calls)
+            throws IOException, TimeoutException, InterruptedException {
+        if (calls == null) {
+            return call.call(repository);
+        }
+        Future<T> result = calls.submit(() -> call.call(repository));
+        try {
+            return result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new TimeoutException(repository.getOwner() + "/" + repository.getName() + " did not complete within " + timeout);
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    /**
+     * Waits while the remaining core budget is below the reserve and the window hasn't reset yet.
+     */
+    private void awaitBudget() throws InterruptedException {
+        RateLimitBudget budget = rateLimitScheduler.getBudget(RateLimitScheduler.Resource.CORE);
+        while (budget.getRemaining() >= 0 && budget.getRemaining() < reserve && budget.getResetAt() != null) {
+            Duration untilReset = Duration.between(Instant.now(), budget.getResetAt());
+            if (untilReset.isNegative() || untilReset.isZero()) {
+                return;
+            }
+            Thread.sleep(Math.min(untilReset.toMillis() + 1, MAX_BUDGET_WAIT.toMillis()));
+            budget = rateLimitScheduler.getBudget(RateLimitScheduler.Resource.CORE);
+        }
+    }
+
+    /**
+     * A call made per repository.
+     *
+     * @param <T> Result type
+     */
+    @FunctionalInterface
+    public interface RepositoryCall<T> {
+        /**
+         * Performs the call.
+         *
+         * @param repository Repository to process
+         * @return call result
+         * @throws IOException if a GitHub API request fails
+         */
+        T call(RepositoryHandler repository) throws IOException;
+    }
+
+    /**
+     * Hands out the input one repository at a time and collects the outcomes.
+     * Once stopped, no further repositories are handed out.
+     */
+    private static final class Progress<T> {
+        private final Iterator<RepositoryHandler> repositories;
+        private final Map<String, T> results = new LinkedHashMap<>();
+        private final Map<String, Exception> failures = new LinkedHashMap<>();
+        private boolean stopped;
+        private RuntimeException failure;
+
+        private Progress(Iterator<RepositoryHandler> repositories) {
+            this.repositories = repositories;
+        }
+
+        private synchronized RepositoryHandler next() {
+            if (stopped) {
+                return null;
+            }
+            try {
+                if (repositories.hasNext()) {
+                    return repositories.next();
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            stopped = true;
+            return null;
+        }
+
+        private synchronized void succeeded(String fullName, T result) {
+            results.put(fullName, result);
+        }
+
+        private synchronized void failed(String fullName, Exception e) {
+            failures.put(fullName, e);
+        }
+
+        private synchronized void stop() {
+            stopped = true;
+        }
+
+        private synchronized RepositorySweepResult<T> result() {
+            if (failure != null) {
+                throw failure;
+            }
+            return RepositorySweepResult.<T>builder()
+                    .results(Collections.unmodifiableMap(new LinkedHashMap<>(results)))
+                    .failures(Collections.unmodifiableMap(new LinkedHashMap<>(failures)))
+                    .build();
+        }
+    }
+
+    /**
+     * Builder for RepositorySweep instances.
+     */
+    public static class Builder {
+        private final SimpleGitHub github;
+        private int concurrency;
+        private Duration timeout;
+        private int reserve = DEFAULT_RESERVE;
+
+        private Builder(SimpleGitHub github) {
+            this.github = github;
+            this.concurrency = github.async().getMaxConcurrency();
+        }
+
+        /**
+         * Sets the maximum number of repositories processed at the same time.
+         * Defaults to the concurrency limit of the instance's asynchronous view.
+         *
+         * @param concurrency Concurrency limit
+         * @return this builder
+         */
+        public Builder concurrency(int concurrency) {
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("Concurrency limit must be positive: " + concurrency);
+            }
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * Sets how long the call may take per repository. No timeout by default.
+         *
+         * @param timeout Timeout per repository, or null for none
+         * @return this builder
+         */
+        public Builder timeout(Duration timeout) {
+            if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+                throw new IllegalArgumentException("Timeout must be positive: " + timeout);
+            }
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * Sets the number of core requests below which no new repository is started until the
+         * rate limit window resets.
+         *
+         * @param reserve Core requests to leave untouched, or 0 to rely on the scheduler's pacing alone
+         * @return this builder
+         */
+        public Builder reserve(int reserve) {
+            if (reserve < 0) {
+                throw new IllegalArgumentException("Reserve must not be negative: " + reserve);
+            }
+            this.reserve = reserve;
+            return this;
+        }
+
+        /**
+         * Creates the sweep.
+         *
+         * @return new RepositorySweep
+         */
+        public RepositorySweep build() {
+            return new RepositorySweep(this);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.vedtodteckos.simplegithub;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Outcome of a {@link RepositorySweep} run.
+ * Every repository handed to the sweep appears either in the results or in the failures.
+ *
+ * @param <T> Result type of the call made per repository
+ */
+@Value
+@Builder
+public class RepositorySweepResult<T> {
+    /**
+     * Result per repository full name, such as {@code owner/name}, in completion order.
+     */
+    Map<String, T> results;
+
+    /**
+     * Failure per repository full name: the {@link java.io.IOException} or unchecked exception
+     * thrown by the call, or a {@link java.util.concurrent.TimeoutException} if it ran too long.
+     */
+    Map<String, Exception> failures;
+
+    /**
+     * Checks whether the call succeeded for every repository.
+     *
+     * @return true if no repository failed
+     */
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+}
@@ -1,19 +1,36 @@
 package io.github.vedtodteckos.simplegithub;
 
+import io.github.vedtodteckos.simplegithub.rest.GitHubRestClient;
+import io.github.vedtodteckos.simplegithub.rest.HttpResponseCache;
+import io.github.vedtodteckos.simplegithub.rest.RateLimitScheduler;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import org.kohsuke.github.GHPerson;
+import org.kohsuke.github.GHUser;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.connector.GitHubConnector;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 /**
  * Main entry point for the SimpleGitHub API wrapper.
  * Provides simplified access to GitHub API functionality.
+ * <p>
+ * All requests made through an instance, whether by the handlers or by its REST client,
+ * are paced by one shared {@link RateLimitScheduler}. Identical GET requests in flight at the
+ * same time share one network call.
  */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class SimpleGitHub {
     private GitHub github;
+    private RepositoryCache repositoryCache;
+    private RateLimitScheduler rateLimitScheduler;
+    private GitHubRestClient restClient;
+    private AsyncSimpleGitHub async;
 
     /**
      * Creates a new SimpleGitHub instance using a GitHub access token.
@@ -23,22 +40,104 @@ public class SimpleGitHub {
      * @throws IOException if connection fails
      */
     public static SimpleGitHub connect(String token) throws IOException {
-        SimpleGitHub simpleGitHub = new SimpleGitHub();
-        simpleGitHub.github = new GitHubBuilder()
-                .withOAuthToken(token)
-                .build();
-        return simpleGitHub;
+        return builder().token(token).build();
+    }
+
+    /**
+     * Creates a builder for configuring a SimpleGitHub instance.
+     *
+     * @return new builder
+     */
+    public static Builder builder() {
+        return new Builder();
     }
 
     /**
      * Creates a repository handler for the specified repository.
+     * All handlers created by this instance share one repository cache.
      *
      * @param owner Repository owner
      * @param name Repository name
      * @return RepositoryHandler instance
      */
     public RepositoryHandler repository(String owner, String name) {
-        return new RepositoryHandler(github, owner, name);
+        return new RepositoryHandler(repositoryCache, restClient, owner, name);
+    }
+
+    /**
+     * Streams handlers for all repositories of a user or organization.
+     * Pages are fetched as the stream is consumed, and every listed repository is put into the
+     * repository cache, so the handlers don't fetch it again while the entry is fresh.
+     * For an organization, private repositories visible to the token are included; for a user,
+     * only public repositories are listed.
+     *
+     * @param owner User or organization name
+     * @return Lazy stream of RepositoryHandler instances
+     * @throws IOException if the owner cannot be accessed
+     */
+    public Stream<RepositoryHandler> repositories(String owner) throws IOException {
+        GHUser account = github.getUser(owner);
+        GHPerson person = "Organization".equals(account.getType()) ? github.getOrganization(owner) : account;
+        return PagedStreams.stream(person.listRepositories(PagedStreams.MAX_PAGE_SIZE))
+                .map(repository -> {
+                    repositoryCache.put(repository);
+                    return repository(repository.getOwnerName(), repository.getName());
+                });
+    }
+
+    /**
+     * Applies a call to every repository of a user or organization in parallel.
+     * Use {@link RepositorySweep#builder(SimpleGitHub)} to configure the concurrency, a timeout
+     * per repository or the rate limit reserve.
+     *
+     * @param owner User or organization name
+     * @param call Call made per repository
+     * @param <T> Result type of the call
+     * @return Result or failure per repository
+     * @throws IOException if the repositories cannot be listed
+     * @see #repositories(String)
+     */
+    public <T> RepositorySweepResult<T> sweepRepositories(String owner, RepositorySweep.RepositoryCall<T> call) throws IOException {
+        return RepositorySweep.builder(this).build().run(repositories(owner), call);
+    }
+
+    /**
+     * Gets the asynchronous view of this instance.
+     * All asynchronous calls share the concurrency limit configured on the builder.
+     *
+     * @return AsyncSimpleGitHub instance
+     */
+    public AsyncSimpleGitHub async() {
+        return async;
+    }
+
+    /**
+     * Gets the repository cache shared by the handlers of this instance.
+     *
+     * @return shared repository cache
+     */
+    public RepositoryCache getRepositoryCache() {
+        return repositoryCache;
+    }
+
+    /**
+     * Gets the REST client for endpoints not covered by the handlers, such as Copilot management.
+     * It shares the rate limit budget of this instance.
+     *
+     * @return shared REST client
+     */
+    public GitHubRestClient getRestClient() {
+        return restClient;
+    }
+
+    /**
+     * Gets the scheduler pacing all requests of this instance.
+     * Use it to inspect the remaining budget and the number of waiting requests.
+     *
+     * @return shared rate limit scheduler
+     */
+    public RateLimitScheduler getRateLimitScheduler() {
+        return rateLimitScheduler;
     }
 
     /**
@@ -54,4 +153,153 @@ public class SimpleGitHub {
             return false;
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Builder for SimpleGitHub instances.
+     */
+    public static class Builder {
+        private String token;
+        private String apiUrl = "https://api.github.com";
+        private Duration repositoryCacheTtl = RepositoryCache.DEFAULT_TTL;
+        private int maxConcurrency = AsyncSimpleGitHub.DEFAULT_MAX_CONCURRENCY;
+        private Executor executor;
+        private RateLimitScheduler rateLimitScheduler;
+        private HttpResponseCache responseCache;
+        private boolean coalesceRequests = true;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the GitHub access token.
+         *
+         * @param token GitHub personal access token
+         * @return this builder
+         */
+        public Builder token(String token) {
+            this.token = token;
+            return this;
+        }
+
+        /**
+         * Sets the API base URL, for example the API endpoint of a GitHub Enterprise Server.
+         *
+         * @param apiUrl API base URL without a trailing slash
+         * @return this builder
+         */
+        public Builder apiUrl(String apiUrl) {
+            this.apiUrl = apiUrl;
+            return this;
+        }
+
+        /**
+         * Sets how long repository metadata is served from the cache before it is revalidated.
+         * A zero duration revalidates on every access.
+         *
+         * @param repositoryCacheTtl Repository cache time-to-live
+         * @return this builder
+         */
+        public Builder repositoryCacheTtl(Duration repositoryCacheTtl) {
+            this.repositoryCacheTtl = repositoryCacheTtl;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of asynchronous calls running at the same time.
+         *
+         * @param maxConcurrency Concurrency limit of the asynchronous view
+         * @return this builder
+         */
+        public Builder maxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Sets the executor running asynchronous calls.
+         * Defaults to virtual threads where available.
+         *
+         * @param executor Executor for asynchronous calls
+         * @return this builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the scheduler pacing all requests.
+         * Pass the same scheduler to several instances using the same token so they share one budget.
+         *
+         * @param rateLimitScheduler Rate limit scheduler
+         * @return this builder
+         */
+        public Builder rateLimitScheduler(RateLimitScheduler rateLimitScheduler) {
+            this.rateLimitScheduler = rateLimitScheduler;
+            return this;
+        }
+
+        /**
+         * Enables conditional requests backed by a persistent response cache, for both the
+         * handlers and the REST client. Unchanged resources are then served from the cache,
+         * and GitHub doesn't count the revalidation against the primary rate limit.
+         * Disabled by default.
+         *
+         * @param responseCache Response cache
+         * @return this builder
+         */
+        public Builder responseCache(HttpResponseCache responseCache) {
+            this.responseCache = responseCache;
+            return this;
+        }
+
+        /**
+         * Sets whether identical GET requests in flight at the same time, such as several
+         * workers asking for the same default branch, share one network call.
+         * Applies to both the handlers and the REST client. Only JSON responses are shared; raw
+         * contents and other downloads are always streamed per request. Enabled by default.
+         *
+         * @param coalesceRequests true to coalesce identical concurrent requests
+         * @return this builder
+         */
+        public Builder coalesceRequests(boolean coalesceRequests) {
+            this.coalesceRequests = coalesceRequests;
+            return this;
+        }
+
+        /**
+         * Connects to GitHub and creates the SimpleGitHub instance.
+         *
+         * @return SimpleGitHub instance
+         * @throws IOException if connection fails
+         */
+        public SimpleGitHub build() throws IOException {
+            SimpleGitHub simpleGitHub = new SimpleGitHub();
+            simpleGitHub.rateLimitScheduler = rateLimitScheduler != null ? rateLimitScheduler : new RateLimitScheduler();
+            GitHubBuilder githubBuilder = simpleGitHub.rateLimitScheduler.configure(new GitHubBuilder())
+                    .withEndpoint(apiUrl)
+                    .withOAuthToken(token);
+            GitHubConnector connector = GitHubConnector.DEFAULT;
+            if (responseCache != null) {
+                connector = new CachingGitHubConnector(connector, responseCache);
+            }
+            if (coalesceRequests) {
+                connector = new CoalescingGitHubConnector(connector);
+            }
+            if (connector != GitHubConnector.DEFAULT) {
+                githubBuilder.withConnector(connector);
+            }
+            simpleGitHub.github = githubBuilder.build();
+            simpleGitHub.restClient = GitHubRestClient.builder()
+                    .token(token)
+                    .baseUrl(apiUrl)
+                    .rateLimitScheduler(simpleGitHub.rateLimitScheduler)
+                    .responseCache(responseCache)
+                    .coalesceRequests(coalesceRequests)
+                    .build();
+            simpleGitHub.repositoryCache = new RepositoryCache(simpleGitHub.github, repositoryCacheTtl);
+            simpleGitHub.async = new AsyncSimpleGitHub(simpleGitHub, executor, maxConcurrency);
+            return simpleGitHub;
+        }
+    }
+}
@@ -0,0 +1,478 @@
+package io.github.vedtodteckos.simplegithub;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Embeddable receiver for GitHub webhooks that keeps the library's local state up to date,
+ * so that changes are pushed by GitHub instead of polled through the API.
+ * <p>
+ * Every delivery is authenticated with the HMAC-SHA256 signature GitHub sends in the
+ * {@code X-Hub-Signature-256} header; deliveries with a missing or wrong signature are rejected.
+ * The receiver handles these events:
+ * <ul>
+ *   <li>{@code push} and {@code repository}: drop the repository from the repository cache</li>
+ *   <li>{@code pull_request} and {@code issues}: update the {@link IssueIndex} registered for
+ *   the repository, ignoring deliveries older than the indexed state and removing deleted and
+ *   transferred issues</li>
+ *   <li>{@code workflow_run}: only notify the listeners</li>
+ * </ul>
+ * Push, pull request and workflow run events are then handed to the registered listeners, for
+ * example to refresh a dashboard instead of polling the open pull requests or workflow runs.
+ * Listeners run on the server's threads, one delivery at a time unless an executor is configured.
+ * If a listener throws, GitHub is answered with status 500 and shows the delivery as failed.
+ */
+public class WebhookReceiver {
+    /**
+     * Largest payload GitHub delivers.
+     */
+    private static final int MAX_PAYLOAD_SIZE = 25 * 1024 * 1024;
+
+    private final RepositoryCache repositoryCache;
+    private final SecretKeySpec secret;
+    private final InetSocketAddress address;
+    private final String path;
+    private final Executor executor;
+    private final Map<String, IssueIndex> issueIndexes;
+    private final List<Consumer<PushEvent>> pushListeners;
+    private final List<Consumer<PullRequestEvent>> pullRequestListeners;
+    private final List<Consumer<WorkflowRunEvent>> workflowRunListeners;
+    private HttpServer server;
+
+    private WebhookReceiver(Builder builder) {
+        this.repositoryCache = builder.github.getRepositoryCache();
+        this.secret = new SecretKeySpec(builder.secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.address = builder.address;
+        this.path = builder.path;
+        this.executor = builder.executor;
+        this.issueIndexes = Map.copyOf(builder.issueIndexes);
+        this.pushListeners = List.copyOf(builder.pushListeners);
+        this.pullRequestListeners = List.copyOf(builder.pullRequestListeners);
+        this.workflowRunListeners = List.copyOf(builder.workflowRunListeners);
+    }
+
+    /**
+     * Creates a builder for a receiver updating the caches of the given instance.
+     *
+     * @param github SimpleGitHub instance whose caches are kept up to date
+     * @return new builder
+     */
+    public static Builder builder(SimpleGitHub github) {
+        return new Builder(github);
+    }
+
+    /**
+     * Starts accepting deliveries.
+     *
+     * @throws IOException if the server cannot bind to its address
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+        HttpServer created = HttpServer.create(address, 0);
+        created.createContext(path, this::exchange);
+        created.setExecutor(executor);
+        created.start();
+        server = created;
+    }
+
+    /**
+     * Stops accepting deliveries, giving deliveries in progress up to a second to complete.
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(1);
+            server = null;
+        }
+    }
+
+    /**
+     * Gets the address the receiver listens on, with the actual port if an ephemeral port was requested.
+     *
+     * @return bound address, or the configured address if the receiver isn't running
+     */
+    public synchronized InetSocketAddress getAddress() {
+        return server != null ? server.getAddress() : address;
+    }
+
+    /**
+     * Handles a delivery received by another HTTP server, for applications that already run one.
+     *
+     * @param event Value of the {@code X-GitHub-Event} header
+     * @param signature Value of the {@code X-Hub-Signature-256} header
+     * @param payload Raw request body
+     * @return HTTP status to answer GitHub with
+     */
+    public int handle(String event, String signature, byte[] payload) {
+        if (!isSignatureValid(signature, payload)) {
+            return 401;
+        }
+        if (event == null) {
+            return 400;
+        }
+        JsonObject body;
+        try {
+            body = JsonParser.parseString(new String(payload, StandardCharsets.UTF_8)).getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            return 400;
+        }
+        try {
+            dispatch(event, body);
+        } catch (DateTimeParseException e) {
+            return 400;
+        } catch (IOException | RuntimeException e) {
+            return 500;
+        }
+        return 204;
+    }
+
+    private void exchange(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().add("Allow", "POST");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] payload;
+            try (InputStream body = exchange.getRequestBody()) {
+                payload = body.readNBytes(MAX_PAYLOAD_SIZE + 1);
+            }
+            int status = payload.length > MAX_PAYLOAD_SIZE ? 413
+                    : handle(exchange.getRequestHeaders().getFirst("X-GitHub-Event"),
+                    exchange.getRequestHeaders().getFirst("X-Hub-Signature-256"), payload);
+            exchange.sendResponseHeaders(status, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean isSignatureValid(String signature, byte[] payload) {
+        if (signature == null || !signature.startsWith("sha256=")) {
+            return false;
+        }
+        byte[] expected;
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(secret);
+            expected = mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+        byte[] received = hex(signature.substring("sha256=".length()));
+        // Constant-time comparison, so the signature can't be guessed byte by byte
+        return received != null && MessageDigest.isEqual(expected, received);
+    }
+
+    private void dispatch(String event, JsonObject body) throws IOException {
+        JsonObject repository = object(body, "repository");
+        if (repository == null) {
+            return;
+        }
+        String owner = string(object(repository, "owner"), "login");
+        String name = string(repository, "name");
+        IssueIndex index = issueIndexes.get(key(owner, name));
+        switch (event) {
+            case "push":
+                repositoryCache.invalidate(owner, name);
+                PushEvent push = PushEvent.builder()
+                        .owner(owner)
+                        .repository(name)
+                        .ref(string(body, "ref"))
+                        .before(string(body, "before"))
+                        .after(string(body, "after"))
+                        .created(bool(body, "created"))
+                        .deleted(bool(body, "deleted"))
+                        .forced(bool(body, "forced"))
+                        .build();
+                pushListeners.forEach(listener -> listener.accept(push));
+                break;
+            case "repository":
+                repositoryCache.invalidate(owner, name);
+                break;
+            case "issues":
+                JsonObject issue = object(body, "issue");
+                if (index == null || issue == null) {
+                    return;
+                }
+                String action = string(body, "action");
+                if ("deleted".equals(action) || "transferred".equals(action)) {
+                    index.remove(issue.get("number").getAsInt());
+                } else {
+                    index.update(List.of(indexed(issue, false)));
+                }
+                break;
+            case "pull_request":
+                JsonObject pullRequest = object(body, "pull_request");
+                if (pullRequest == null) {
+                    return;
+                }
+                if (index != null) {
+                    index.update(List.of(indexed(pullRequest, true)));
+                }
+                PullRequestEvent pullRequestEvent = PullRequestEvent.builder()
+                        .owner(owner)
+                        .repository(name)
+                        .action(string(body, "action"))
+                        .number(pullRequest.get("number").getAsInt())
+                        .title(string(pullRequest, "title"))
+                        .state(state(pullRequest))
+                        .merged(bool(pullRequest, "merged"))
+                        .labels(labels(pullRequest))
+                        .headSha(string(object(pullRequest, "head"), "sha"))
+                        .base(string(object(pullRequest, "base"), "ref"))
+                        .updatedAt(instant(pullRequest, "updated_at"))
+                        .build();
+                pullRequestListeners.forEach(listener -> listener.accept(pullRequestEvent));
+                break;
+            case "workflow_run":
+                JsonObject run = object(body, "workflow_run");
+                if (run == null) {
+                    return;
+                }
+                WorkflowRunEvent workflowRunEvent = WorkflowRunEvent.builder()
+                        .owner(owner)
+                        .repository(name)
+                        .action(string(body, "action"))
+                        .runId(run.get("id").getAsLong())
+                        .workflowId(run.get("workflow_id").getAsLong())
+                        .name(string(run, "name"))
+                        .headBranch(string(run, "head_branch"))
+                        .headSha(string(run, "head_sha"))
+                        .status(string(run, "status"))
+                        .conclusion(string(run, "conclusion"))
+                        .updatedAt(instant(run, "updated_at"))
+                        .build();
+                workflowRunListeners.forEach(listener -> listener.accept(workflowRunEvent));
+                break;
+            default:
+                // Other events, including the ping sent when the webhook is created, need no handling
+                break;
+        }
+    }
+
+    private static IndexedIssue indexed(JsonObject issue, boolean pullRequest) {
+        return IndexedIssue.builder()
+                .number(issue.get("number").getAsInt())
+                .title(string(issue, "title"))
+                .state(state(issue))
+                .labels(labels(issue))
+                .pullRequest(pullRequest)
+                .updatedAt(instant(issue, "updated_at"))
+                .build();
+    }
+
+    private static String state(JsonObject issue) {
+        return "open".equals(string(issue, "state")) ? "OPEN" : "CLOSED";
+    }
+
+    private static List<String> labels(JsonObject issue) {
+        List<String> labels = new ArrayList<>();
+        JsonElement array = issue.get("labels");
+        if (array != null && array.isJsonArray()) {
+            for (JsonElement label : (JsonArray) array) {
+                String name = string(label.getAsJsonObject(), "name");
+                if (name != null) {
+                    labels.add(name);
+                }
+            }
+        }
+        return labels;
+    }
+
+    private static Instant instant(JsonObject parent, String name) {
+        String value = string(parent, name);
+        return value != null ? Instant.parse(value) : null;
+    }
+
+    private static JsonObject object(JsonObject parent, String name) {
+        JsonElement value = parent == null ? null : parent.get(name);
+        return value == null || !value.isJsonObject() ? null : value.getAsJsonObject();
+    }
+
+    private static String string(JsonObject parent, String name) {
+        JsonElement value = parent == null ? null : parent.get(name);
+        return value == null || value.isJsonNull() ? null : value.getAsString();
+    }
+
+    private static boolean bool(JsonObject parent, String name) {
+        JsonElement value = parent.get(name);
+        return value != null && !value.isJsonNull() && value.getAsBoolean();
+    }
+
+    private static byte[] hex(String text) {
+        if (text.length() % 2 != 0) {
+            return null;
+        }
+        byte[] bytes = new byte[text.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(text.charAt(2 * i), 16);
+            int low = Character.digit(text.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            bytes[i] = (byte) (high << 4 | low);
+        }
+        return bytes;
+    }
+
+    private static String key(String owner, String name) {
+        // Repository names are case-insensitive on GitHub
+        return (owner + "/" + name).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Builder for WebhookReceiver instances.
+     */
+    public static class Builder {
+        private final SimpleGitHub github;
+        private String secret;
+        private InetSocketAddress address = new InetSocketAddress(8080);
+        private String path = "/";
+        private Executor executor;
+        private final Map<String, IssueIndex> issueIndexes = new HashMap<>();
+        private final List<Consumer<PushEvent>> pushListeners = new ArrayList<>();
+        private final List<Consumer<PullRequestEvent>> pullRequestListeners = new ArrayList<>();
+        private final List<Consumer<WorkflowRunEvent>> workflowRunListeners = new ArrayList<>();
+
+        private Builder(SimpleGitHub github) {
+            this.github = github;
+        }
+
+        /**
+         * Sets the secret configured for the webhook on GitHub. Required.
+         *
+         * @param secret Webhook secret
+         * @return this builder
+         */
+        public Builder secret(String secret) {
+            this.secret = secret;
+            return this;
+        }
+
+        /**
+         * Sets the port to listen on, on all interfaces. Defaults to 8080; 0 picks a free port.
+         *
+         * @param port Port number
+         * @return this builder
+         */
+        public Builder port(int port) {
+            return address(new InetSocketAddress(port));
+        }
+
+        /**
+         * Sets the address to listen on.
+         *
+         * @param address Socket address
+         * @return this builder
+         */
+        public Builder address(InetSocketAddress address) {
+            this.address = address;
+            return this;
+        }
+
+        /**
+         * Sets the path deliveries are posted to. Defaults to {@code /}.
+         *
+         * @param path Request path
+         * @return this builder
+         */
+        public Builder path(String path) {
+            this.path = path;
+            return this;
+        }
+
+        /**
+         * Sets the executor handling deliveries. By default they are handled one at a time on
+         * the server's dispatcher thread.
+         *
+         * @param executor Executor for deliveries
+         * @return this builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Registers the index to keep up to date with the issues and pull requests of a repository.
+         *
+         * @param owner Repository owner
+         * @param name Repository name
+         * @param index Index of the repository
+         * @return this builder
+         */
+        public Builder issueIndex(String owner, String name, IssueIndex index) {
+            issueIndexes.put(key(owner, name), index);
+            return this;
+        }
+
+        /**
+         * Adds a listener for pushes.
+         *
+         * @param listener Receives each push
+         * @return this builder
+         */
+        public Builder onPush(Consumer<PushEvent> listener) {
+            pushListeners.add(listener);
+            return this;
+        }
+
+        /**
+         * Adds a listener for pull request activity.
+         *
+         * @param listener Receives each pull request event
+         * @return this builder
+         */
+        public Builder onPullRequest(Consumer<PullRequestEvent> listener) {
+            pullRequestListeners.add(listener);
+            return this;
+        }
+
+        /**
+         * Adds a listener for workflow runs.
+         *
+         * @param listener Receives each workflow run event
+         * @return this builder
+         */
+        public Builder onWorkflowRun(Consumer<WorkflowRunEvent> listener) {
+            workflowRunListeners.add(listener);
+            return this;
+        }
+
+        /**
+         * Creates the receiver. Call {@link WebhookReceiver#start()} to start accepting deliveries.
+         *
+         * @return new WebhookReceiver
+         */
+        public WebhookReceiver build() {
+            if (secret == null || secret.isEmpty()) {
+                throw new IllegalStateException("A webhook secret is required");
+            }
+            return new WebhookReceiver(this);
+        }
+    }
+}
@@ -1,13 +1,16 @@
 package io.github.vedtodteckos.simplegithub;
 
+import io.github.vedtodteckos.simplegithub.rest.GitHubRestClient;
+import io.github.vedtodteckos.simplegithub.rest.WorkflowRun;
 import lombok.RequiredArgsConstructor;
 import org.kohsuke.github.*;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.stream.Stream;
 
 /**
  * Handler for GitHub Actions workflow operations.
@@ -20,7 +23,9 @@ import java.util.stream.StreamSupport;
 @RequiredArgsConstructor
 public class WorkflowHandler {
     private final GHRepository repository;
+    private final GitHubRestClient restClient;
     private final String workflowId;
+    private volatile GHWorkflow workflow;
 
     /**
      * Lists all runs of this workflow.
@@ -30,21 +35,81 @@ public class WorkflowHandler {
      * @throws IOException if the GitHub API request fails
      */
     public List<GHWorkflowRun> getWorkflowRuns() throws IOException {
-        return StreamSupport.stream(repository.queryWorkflowRuns()
-                .list()
-                .spliterator(), false)
-                .collect(Collectors.toList());
+        return streamWorkflowRuns().collect(Collectors.toList());
+    }
+
+    /**
+     * Streams the runs of this workflow in descending order by run number.
+     * Pages are fetched as the stream is consumed, so {@code limit(n)} stops fetching early.
+     *
+     * @return Lazy stream of workflow runs
+     * @throws IOException if the GitHub API request fails
+     */
+    public Stream<GHWorkflowRun> streamWorkflowRuns() throws IOException {
+        return PagedStreams.stream(getWorkflow().listRuns());
+    }
+
+    /**
+     * Streams the runs of this workflow with a page size hint.
+     * Use a page size matching the number of runs needed to avoid over-fetching.
+     *
+     * @param pageSize Number of runs to request per page (at most 100)
+     * @return Lazy stream of workflow runs
+     * @throws IOException if the GitHub API request fails
+     */
+    public Stream<GHWorkflowRun> streamWorkflowRuns(int pageSize) throws IOException {
+        return PagedStreams.stream(getWorkflow().listRuns(), pageSize);
+    }
+
+    /**
+     * Iterates over the runs of this workflow.
+     * Pages are fetched as the iterator advances.
+     *
+     * @return Lazy iterator of workflow runs
+     * @throws IOException if the GitHub API request fails
+     */
+    public Iterator<GHWorkflowRun> iterateWorkflowRuns() throws IOException {
+        return streamWorkflowRuns().iterator();
+    }
+
+    /**
+     * Creates a query for the runs of this workflow.
+     * The query is sent through the REST client of the SimpleGitHub instance.
+     *
+     * @return WorkflowRunQuery for filtering this workflow's runs
+     * @throws IllegalStateException if the handler was created without a REST client
+     */
+    public WorkflowRunQuery queryRuns() {
+        if (restClient == null) {
+            throw new IllegalStateException("Workflow run queries need a REST client; create the repository handler with one");
+        }
+        return new WorkflowRunQuery(restClient, repository.getOwnerName(), repository.getName(), workflowId);
     }
 
     /**
      * Gets the most recent run of this workflow.
+     * Only a single run is requested.
      *
      * @return The latest workflow run, or null if no runs exist
      * @throws IOException if the GitHub API request fails
      */
     public GHWorkflowRun getLatestRun() throws IOException {
-        List<GHWorkflowRun> runs = getWorkflowRuns();
-        return runs.isEmpty() ? null : runs.get(0);
+        return streamWorkflowRuns(1).findFirst().orElse(null);
+    }
+
+    /**
+     * Gets the most recent run of this workflow on a branch.
+     * The run is looked up on the workflow's run listing filtered by branch, reading a single
+     * run, and then fetched by its ID.
+     *
+     * @param branch The branch the run was triggered for
+     * @return The latest workflow run on the branch, or null if no runs exist
+     * @throws IOException if the GitHub API request fails
+     * @throws IllegalStateException if the handler was created without a REST client
+     */
+    public GHWorkflowRun getLatestRun(String branch) throws IOException {
+        WorkflowRun latest = queryRuns().branch(branch).latest();
+        return latest != null ? repository.getWorkflowRun(latest.getId()) : null;
     }
 
     /**
@@ -55,8 +120,7 @@ public class WorkflowHandler {
      * @throws IOException if the GitHub API request fails
      */
     public void dispatch(String branch, Map<String, Object> inputs) throws IOException {
-        repository.getWorkflow(workflowId)
-                .dispatch(branch, inputs);
+        getWorkflow().dispatch(branch, inputs);
     }
 
     /**
@@ -67,7 +131,7 @@ public class WorkflowHandler {
      * @throws IOException if the GitHub API request fails
      */
     public void setEnabled(boolean enabled) throws IOException {
-        GHWorkflow workflow = repository.getWorkflow(workflowId);
+        GHWorkflow workflow = getWorkflow();
         if (enabled) {
             workflow.enable();
         } else {
@@ -115,10 +179,57 @@ public class WorkflowHandler {
      * @throws IOException if the GitHub API request fails
      */
     public List<GHWorkflowJob> getJobs(long runId) throws IOException {
-        return StreamSupport.stream(repository.getWorkflowRun(runId)
-                .listJobs()
-                .spliterator(), false)
-                .collect(Collectors.toList());
+        return streamJobs(runId).collect(Collectors.toList());
+    }
+
+    /**
+     * Streams the jobs of a specific workflow run.
+     * Pages are fetched as the stream is consumed.
+     *
+     * @param runId The ID of the workflow run
+     * @return Lazy stream of workflow jobs
+     * @throws IOException if the GitHub API request fails
+     */
+    public Stream<GHWorkflowJob> streamJobs(long runId) throws IOException {
+        return PagedStreams.stream(repository.getWorkflowRun(runId).listJobs());
+    }
+
+    /**
+     * Streams the jobs of a specific workflow run with a page size hint.
+     *
+     * @param runId The ID of the workflow run
+     * @param pageSize Number of jobs to request per page (at most 100)
+     * @return Lazy stream of workflow jobs
+     * @throws IOException if the GitHub API request fails
+     */
+    public Stream<GHWorkflowJob> streamJobs(long runId, int pageSize) throws IOException {
+        return PagedStreams.stream(repository.getWorkflowRun(runId).listJobs(), pageSize);
+    }
+
+    /**
+     * Iterates over the jobs of a specific workflow run.
+     * Pages are fetched as the iterator advances.
+     *
+     * @param runId The ID of the workflow run
+     * @return Lazy iterator of workflow jobs
+     * @throws IOException if the GitHub API request fails
+     */
+    public Iterator<GHWorkflowJob> iterateJobs(long runId) throws IOException {
+        return streamJobs(runId).iterator();
     }
 
-} 
\ No newline at end of file
+    /**
+     * Gets the underlying GHWorkflow object, fetching it on first use.
+     *
+     * @return GHWorkflow object
+     * @throws IOException if the workflow cannot be accessed
+     */
+    private GHWorkflow getWorkflow() throws IOException {
+        GHWorkflow current = workflow;
+        if (current == null) {
+            current = repository.getWorkflow(workflowId);
+            workflow = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.vedtodteckos.simplegithub;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * A GitHub Actions workflow run that was requested, started or completed, as delivered by a webhook.
+ */
+@Value
+@Builder
+public class WorkflowRunEvent {
+    String owner;
+
+    String repository;
+
+    /**
+     * What happened: requested, in_progress or completed.
+     */
+    String action;
+
+    long runId;
+
+    long workflowId;
+
+    /**
+     * Name of the workflow.
+     */
+    String name;
+
+    String headBranch;
+
+    String headSha;
+
+    /**
+     * Status of the run, such as queued, in_progress or completed.
+     */
+    String status;
+
+    /**
+     * Conclusion of a completed run, such as success or failure, or null while it runs.
+     */
+    String conclusion;
+
+    Instant updatedAt;
+}
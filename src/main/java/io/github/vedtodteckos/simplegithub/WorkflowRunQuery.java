@@ -0,0 +1,211 @@
+package io.github.vedtodteckos.simplegithub;
+
+import io.github.vedtodteckos.simplegithub.rest.GitHubRestClient;
+import io.github.vedtodteckos.simplegithub.rest.WorkflowRun;
+import org.kohsuke.github.GHEvent;
+import org.kohsuke.github.GHWorkflowRun;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Fluent query for the runs of a single workflow.
+ * The query reads the workflow's own run listing and sends the filters as its query parameters,
+ * so only matching runs of this workflow are transferred.
+ * Runs are returned newest first and pages are fetched lazily as results are consumed.
+ */
+public class WorkflowRunQuery {
+    private final GitHubRestClient restClient;
+    private final String owner;
+    private final String name;
+    private final String workflowId;
+    private String branch;
+    private GHWorkflowRun.Status status;
+    private GHWorkflowRun.Conclusion conclusion;
+    private String actor;
+    private String event;
+    private String headSha;
+    private String created;
+
+    WorkflowRunQuery(GitHubRestClient restClient, String owner, String name, String workflowId) {
+        this.restClient = restClient;
+        this.owner = owner;
+        this.name = name;
+        this.workflowId = workflowId;
+    }
+
+    /**
+     * Only returns runs triggered for the given branch.
+     *
+     * @param branch Branch name
+     * @return this query
+     */
+    public WorkflowRunQuery branch(String branch) {
+        this.branch = branch;
+        return this;
+    }
+
+    /**
+     * Only returns runs with the given status.
+     * GitHub filters status and conclusion through the same parameter, so a conclusion filter takes precedence.
+     *
+     * @param status Run status
+     * @return this query
+     */
+    public WorkflowRunQuery status(GHWorkflowRun.Status status) {
+        this.status = status;
+        return this;
+    }
+
+    /**
+     * Only returns completed runs with the given conclusion.
+     *
+     * @param conclusion Run conclusion
+     * @return this query
+     */
+    public WorkflowRunQuery conclusion(GHWorkflowRun.Conclusion conclusion) {
+        this.conclusion = conclusion;
+        return this;
+    }
+
+    /**
+     * Only returns runs triggered by the given user.
+     *
+     * @param actor Login of the user who triggered the run
+     * @return this query
+     */
+    public WorkflowRunQuery actor(String actor) {
+        this.actor = actor;
+        return this;
+    }
+
+    /**
+     * Only returns runs triggered by the given event.
+     *
+     * @param event Triggering event
+     * @return this query
+     */
+    public WorkflowRunQuery event(GHEvent event) {
+        return event(event.symbol());
+    }
+
+    /**
+     * Only returns runs triggered by the given event.
+     *
+     * @param event Triggering event name, e.g. "push" or "workflow_dispatch"
+     * @return this query
+     */
+    public WorkflowRunQuery event(String event) {
+        this.event = event;
+        return this;
+    }
+
+    /**
+     * Only returns runs for the given head commit.
+     *
+     * @param headSha SHA of the head commit
+     * @return this query
+     */
+    public WorkflowRunQuery headSha(String headSha) {
+        this.headSha = headSha;
+        return this;
+    }
+
+    /**
+     * Only returns runs created on or after the given day.
+     *
+     * @param since First day of the range (inclusive)
+     * @return this query
+     */
+    public WorkflowRunQuery createdSince(LocalDate since) {
+        this.created = ">=" + since;
+        return this;
+    }
+
+    /**
+     * Only returns runs created within the given date range.
+     *
+     * @param from First day of the range (inclusive)
+     * @param to Last day of the range (inclusive)
+     * @return this query
+     */
+    public WorkflowRunQuery createdBetween(LocalDate from, LocalDate to) {
+        this.created = from + ".." + to;
+        return this;
+    }
+
+    /**
+     * Gets the most recent matching run.
+     * Only a single run is requested.
+     *
+     * @return The latest matching run, or null if no run matches
+     * @throws IOException if the GitHub API request fails
+     */
+    public WorkflowRun latest() throws IOException {
+        return restClient.getLatestWorkflowRun(owner, name, workflowId, filters());
+    }
+
+    /**
+     * Lists all matching runs.
+     *
+     * @return List of matching workflow runs
+     * @throws IOException if the GitHub API request fails
+     */
+    public List<WorkflowRun> list() throws IOException {
+        return stream(PagedStreams.MAX_PAGE_SIZE).collect(Collectors.toList());
+    }
+
+    /**
+     * Streams the matching runs.
+     * Pages are fetched as the stream is consumed, so {@code limit(n)} stops fetching early.
+     *
+     * @return Lazy stream of matching workflow runs
+     * @throws IOException if the GitHub API request fails
+     */
+    public Stream<WorkflowRun> stream() throws IOException {
+        return stream(PagedStreams.MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Streams the matching runs with a page size hint.
+     * Use a page size matching the number of runs needed to avoid over-fetching.
+     *
+     * @param pageSize Number of runs to request per page (at most 100)
+     * @return Lazy stream of matching workflow runs
+     * @throws IOException if the GitHub API request fails
+     */
+    public Stream<WorkflowRun> stream(int pageSize) throws IOException {
+        return restClient.streamWorkflowRuns(owner, name, workflowId, filters(), pageSize);
+    }
+
+    private Map<String, String> filters() {
+        Map<String, String> filters = new LinkedHashMap<>();
+        if (branch != null) {
+            filters.put("branch", branch);
+        }
+        if (conclusion != null) {
+            filters.put("status", conclusion.name().toLowerCase(Locale.ROOT));
+        } else if (status != null) {
+            filters.put("status", status.name().toLowerCase(Locale.ROOT));
+        }
+        if (actor != null) {
+            filters.put("actor", actor);
+        }
+        if (event != null) {
+            filters.put("event", event);
+        }
+        if (headSha != null) {
+            filters.put("head_sha", headSha);
+        }
+        if (created != null) {
+            filters.put("created", created);
+        }
+        return filters;
+    }
+}
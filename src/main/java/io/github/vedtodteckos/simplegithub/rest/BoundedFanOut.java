@@ -0,0 +1,53 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs an asynchronous action for each item of a list with at most a given number in flight.
+ * A fixed set of workers each take the next item once their previous action completed, so no
+ * thread is blocked and no more futures than the concurrency limit exist at any time.
+ */
+final class BoundedFanOut {
+    private BoundedFanOut() {
+    }
+
+    /**
+     * Runs the action for all items.
+     * Failures of individual actions are the action's responsibility; they don't stop the others.
+     *
+     * @param items Items to process
+     * @param concurrency Maximum number of actions in flight
+     * @param action Asynchronous action per item
+     * @param <T> Item type
+     * @return future completed once every action completed
+     */
+    static <T> CompletableFuture<Void> forEach(List<T> items, int concurrency, Function<T, CompletableFuture<?>> action) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency limit must be positive: " + concurrency);
+        }
+        AtomicInteger next = new AtomicInteger();
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(concurrency, items.size())];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = work(items, next, action);
+        }
+        return CompletableFuture.allOf(workers);
+    }
+
+    private static <T> CompletableFuture<Void> work(List<T> items, AtomicInteger next, Function<T, CompletableFuture<?>> action) {
+        int index = next.getAndIncrement();
+        if (index >= items.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<?> result;
+        try {
+            result = action.apply(items.get(index));
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.handle((value, failure) -> null)
+                .thenComposeAsync(ignored -> work(items, next, action));
+    }
+}
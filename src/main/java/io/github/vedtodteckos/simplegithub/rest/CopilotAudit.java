@@ -0,0 +1,261 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Audits the Copilot status of many users of an organization.
+ * <p>
+ * Statuses are fetched with a bounded number of requests in flight, paced by the rate limit
+ * scheduler of the client, and handed to a consumer as they arrive. The consumer is called by
+ * one thread at a time, in completion order rather than input order.
+ * <p>
+ * With a checkpoint file configured, every user handed to the consumer is appended to the
+ * file. A run that was interrupted or had failures can be resumed by running the audit again
+ * with the same checkpoint: users recorded there are skipped. The file is deleted once an audit
+ * completes without failures.
+ */
+public class CopilotAudit {
+    /**
+     * Number of status requests in flight when none is configured.
+     */
+    public static final int DEFAULT_CONCURRENCY = 16;
+
+    private final GitHubRestClient client;
+    private final String orgName;
+    private final int concurrency;
+    private final Path checkpoint;
+
+    private CopilotAudit(Builder builder) {
+        this.client = builder.client;
+        this.orgName = builder.orgName;
+        this.concurrency = builder.concurrency;
+        this.checkpoint = builder.checkpoint;
+    }
+
+    /**
+     * Creates a builder for an audit of the given organization.
+     *
+     * @param client Client used to fetch the statuses
+     * @param orgName Organization name
+     * @return new builder
+     */
+    public static Builder builder(GitHubRestClient client, String orgName) {
+        return new Builder(client, orgName);
+    }
+
+    /**
+     * Audits the given users, blocking until all statuses have been handled.
+     * Users whose status cannot be fetched are reported in the result rather than thrown.
+     * An exception thrown by the consumer stops the audit and is rethrown.
+     *
+     * @param usernames GitHub usernames; duplicates are ignored
+     * @param consumer Receives each user's status as it arrives
+     * @return Counts of audited and skipped users and the failure per user
+     * @throws IOException if the checkpoint cannot be read or written
+     * @throws InterruptedIOException if the thread is interrupted; completed users stay in the checkpoint
+     */
+    public CopilotAuditResult run(Collection<String> usernames, Consumer<CopilotUserStatus> consumer) throws IOException {
+        Set<String> audited = readCheckpoint();
+        List<String> pending = new ArrayList<>();
+        int skipped = 0;
+        for (String username : new LinkedHashSet<>(usernames)) {
+            if (audited.contains(username)) {
+                skipped++;
+            } else {
+                pending.add(username);
+            }
+        }
+
+        Map<String, IOException> failures = new ConcurrentHashMap<>();
+        try (Progress progress = new Progress(consumer, openCheckpoint())) {
+            CompletableFuture<Void> all = BoundedFanOut.forEach(pending, concurrency, username -> {
+                if (progress.isStopped()) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                return client.getCopilotUserStatusAsync(orgName, username)
+                        .whenComplete((status, failure) -> {
+                            if (failure != null) {
+                                failures.put(username, GitHubRestClient.unwrap(failure));
+                            } else {
+                                progress.completed(username, status);
+                            }
+                        });
+            });
+            try {
+                all.get();
+            } catch (InterruptedException e) {
+                progress.stop();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Copilot audit of " + orgName + " was interrupted");
+            } catch (ExecutionException e) {
+                throw GitHubRestClient.unwrap(e.getCause());
+            }
+            progress.rethrowFailure();
+
+            if (failures.isEmpty() && checkpoint != null) {
+                progress.close();
+                Files.deleteIfExists(checkpoint);
+            }
+            return CopilotAuditResult.builder()
+                    .audited(progress.getCompleted())
+                    .skipped(skipped)
+                    .failures(Map.copyOf(failures))
+                    .build();
+        }
+    }
+
+    private Set<String> readCheckpoint() throws IOException {
+        Set<String> audited = new HashSet<>();
+        if (checkpoint != null && Files.exists(checkpoint)) {
+            for (String line : Files.readAllLines(checkpoint, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    audited.add(line.trim());
+                }
+            }
+        }
+        return audited;
+    }
+
+    private BufferedWriter openCheckpoint() throws IOException {
+        if (checkpoint == null) {
+            return null;
+        }
+        return Files.newBufferedWriter(checkpoint, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Hands statuses to the consumer one at a time and records completed users in the checkpoint.
+     * Once stopped or closed, late responses are ignored.
+     */
+    private static final class Progress implements Closeable {
+        private final Consumer<CopilotUserStatus> consumer;
+        private final BufferedWriter checkpoint;
+        private volatile boolean stopped;
+        private int completed;
+        private RuntimeException consumerFailure;
+        private IOException checkpointFailure;
+
+        private Progress(Consumer<CopilotUserStatus> consumer, BufferedWriter checkpoint) {
+            this.consumer = consumer;
+            this.checkpoint = checkpoint;
+        }
+
+        private synchronized void completed(String username, CopilotUserStatus status) {
+            if (stopped) {
+                return;
+            }
+            try {
+                consumer.accept(status);
+                completed++;
+                if (checkpoint != null) {
+                    checkpoint.write(username);
+                    checkpoint.newLine();
+                    checkpoint.flush();
+                }
+            } catch (RuntimeException e) {
+                consumerFailure = e;
+                stopped = true;
+            } catch (IOException e) {
+                checkpointFailure = e;
+                stopped = true;
+            }
+        }
+
+        private boolean isStopped() {
+            return stopped;
+        }
+
+        private synchronized void stop() {
+            stopped = true;
+        }
+
+        private synchronized int getCompleted() {
+            return completed;
+        }
+
+        private synchronized void rethrowFailure() throws IOException {
+            if (consumerFailure != null) {
+                throw consumerFailure;
+            }
+            if (checkpointFailure != null) {
+                throw checkpointFailure;
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            stopped = true;
+            if (checkpoint != null) {
+                checkpoint.close();
+            }
+        }
+    }
+
+    /**
+     * Builder for CopilotAudit instances.
+     */
+    public static class Builder {
+        private final GitHubRestClient client;
+        private final String orgName;
+        private int concurrency = DEFAULT_CONCURRENCY;
+        private Path checkpoint;
+
+        private Builder(GitHubRestClient client, String orgName) {
+            this.client = client;
+            this.orgName = orgName;
+        }
+
+        /**
+         * Sets the maximum number of status requests in flight.
+         *
+         * @param concurrency Concurrency limit
+         * @return this builder
+         */
+        public Builder concurrency(int concurrency) {
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("Concurrency limit must be positive: " + concurrency);
+            }
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * Enables resuming through a checkpoint file listing the users already audited.
+         *
+         * @param checkpoint Checkpoint file, created if missing
+         * @return this builder
+         */
+        public Builder checkpoint(Path checkpoint) {
+            this.checkpoint = checkpoint;
+            return this;
+        }
+
+        /**
+         * Creates the audit.
+         *
+         * @return new CopilotAudit
+         */
+        public CopilotAudit build() {
+            return new CopilotAudit(this);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Outcome of a {@link CopilotAudit} run.
+ */
+@Value
+@Builder
+public class CopilotAuditResult {
+    /**
+     * Users whose status was fetched and handed to the consumer in this run.
+     */
+    int audited;
+
+    /**
+     * Users skipped because the checkpoint recorded them as audited by an earlier run.
+     */
+    int skipped;
+
+    /**
+     * Failure per user whose status could not be fetched. These users are retried on resume.
+     */
+    Map<String, IOException> failures;
+
+    /**
+     * Checks whether every user has been audited.
+     *
+     * @return true if no user failed
+     */
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import com.google.gson.annotations.SerializedName;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * A Copilot seat assigned to a user of an organization.
+ */
+@Value
+@Builder
+public class CopilotSeat {
+    Assignee assignee;
+
+    @SerializedName("plan_type")
+    String planType;
+
+    @SerializedName("created_at")
+    LocalDateTime createdAt;
+
+    @SerializedName("updated_at")
+    LocalDateTime updatedAt;
+
+    /**
+     * Day the seat will be cancelled as an ISO date, or null if no cancellation is pending.
+     */
+    @SerializedName("pending_cancellation_date")
+    String pendingCancellationDate;
+
+    @SerializedName("last_activity_at")
+    LocalDateTime lastActivityAt;
+
+    @SerializedName("last_activity_editor")
+    String lastActivityEditor;
+
+    /**
+     * The user holding the seat.
+     */
+    @Value
+    @Builder
+    public static class Assignee {
+        String login;
+
+        long id;
+
+        String type;
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a bulk Copilot seat assignment or removal.
+ * Every requested user appears either in the succeeded list or in the failures.
+ */
+@Value
+@Builder
+public class CopilotSeatReport {
+    /**
+     * Users whose seat change was accepted, in request order.
+     */
+    List<String> succeeded;
+
+    /**
+     * Failure per user whose seat could not be changed.
+     */
+    Map<String, IOException> failures;
+
+    /**
+     * Seats created or cancelled as reported by GitHub.
+     * Users who already had a seat, or had none to cancel, are not counted.
+     */
+    int seatsChanged;
+
+    /**
+     * Checks whether the change was accepted for every user.
+     *
+     * @return true if no user failed
+     */
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+}
@@ -0,0 +1,265 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.TreeMap;
+
+/**
+ * Local time series of the daily Copilot usage of one organization.
+ * <p>
+ * Days are kept in memory as primitive columns, one array per metric (see
+ * {@link DailyMetricsColumns}), and persisted to an
+ * append-only file. Each sync appends one block holding the new days column by column.
+ * {@link #sync} fetches only the days after the last stored day, so a nightly job downloads a
+ * single day instead of the whole reporting window, and range queries are answered locally.
+ * <p>
+ * Only completed days (up to yesterday, UTC) are stored, since the numbers of the current day
+ * still change. A block left incomplete by a crash is discarded when the store is opened.
+ */
+public class CopilotUsageStore {
+    /**
+     * Number of days fetched by the first sync of an empty store when no start is given.
+     */
+    public static final int DEFAULT_INITIAL_DAYS = 90;
+
+    private static final int MAGIC = 0x53474355;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int COLUMNS = 4;
+
+    private final Path file;
+    private int[] epochDays = new int[64];
+    private int[] suggestionsAccepted = new int[64];
+    private int[] linesAccepted = new int[64];
+    private int[] activeUsers = new int[64];
+    private int size;
+
+    /**
+     * Opens a store, loading the days persisted by earlier runs.
+     *
+     * @param file Store file, created on the first sync
+     * @throws IOException if the file exists but cannot be read or isn't a usage store
+     */
+    public CopilotUsageStore(Path file) throws IOException {
+        this.file = file;
+        if (Files.exists(file)) {
+            load();
+        }
+    }
+
+    /**
+     * Fetches the days after the last stored day up to yesterday and appends them.
+     * An empty store starts {@value #DEFAULT_INITIAL_DAYS} days back.
+     *
+     * @param client Client used to fetch the usage
+     * @param orgName Organization name
+     * @return Number of days appended
+     * @throws IOException if the usage cannot be fetched or stored
+     */
+    public int sync(GitHubRestClient client, String orgName) throws IOException {
+        return sync(client, orgName, LocalDate.now(ZoneOffset.UTC).minusDays(DEFAULT_INITIAL_DAYS));
+    }
+
+    /**
+     * Fetches the days after the last stored day up to yesterday and appends them.
+     *
+     * @param client Client used to fetch the usage
+     * @param orgName Organization name
+     * @param initialStart First day to fetch if the store is empty
+     * @return Number of days appended
+     * @throws IOException if the usage cannot be fetched or stored
+     */
+    public synchronized int sync(GitHubRestClient client, String orgName, LocalDate initialStart) throws IOException {
+        LocalDate start = size > 0 ? getLastDay().plusDays(1) : initialStart;
+        LocalDate end = LocalDate.now(ZoneOffset.UTC).minusDays(1);
+        if (start.isAfter(end)) {
+            return 0;
+        }
+        DailyMetricsColumns fetched = client.getCopilotUsageColumns(orgName, start.atStartOfDay(), end.atStartOfDay());
+        // Keep only the requested days, in ascending order, once each
+        TreeMap<Integer, Integer> days = new TreeMap<>();
+        for (int i = 0; i < fetched.size(); i++) {
+            int epochDay = fetched.getEpochDay(i);
+            if (epochDay >= start.toEpochDay() && epochDay <= end.toEpochDay()) {
+                days.put(epochDay, i);
+            }
+        }
+        if (days.isEmpty()) {
+            return 0;
+        }
+        DailyMetricsColumns.Builder block = DailyMetricsColumns.builder();
+        for (int i : days.values()) {
+            block.add(fetched.getEpochDay(i), fetched.get(DailyMetricsColumns.Metric.SUGGESTIONS_ACCEPTED, i),
+                    fetched.get(DailyMetricsColumns.Metric.LINES_ACCEPTED, i), fetched.get(DailyMetricsColumns.Metric.ACTIVE_USERS, i));
+        }
+        append(block.build());
+        return days.size();
+    }
+
+    /**
+     * Aggregates the stored days within a range.
+     *
+     * @param from First day of the range (inclusive)
+     * @param to Last day of the range (inclusive)
+     * @return Aggregated usage of the days with data
+     */
+    public synchronized CopilotUsageSummary aggregate(LocalDate from, LocalDate to) {
+        DailyMetricsColumns days = getColumns(from, to);
+        return CopilotUsageSummary.builder()
+                .from(from)
+                .to(to)
+                .days(days.size())
+                .totalSuggestionsAccepted(days.sum(DailyMetricsColumns.Metric.SUGGESTIONS_ACCEPTED))
+                .totalLinesAccepted(days.sum(DailyMetricsColumns.Metric.LINES_ACCEPTED))
+                .averageActiveUsers(days.average(DailyMetricsColumns.Metric.ACTIVE_USERS))
+                .peakActiveUsers(days.max(DailyMetricsColumns.Metric.ACTIVE_USERS))
+                .build();
+    }
+
+    /**
+     * Gets the stored days within a range as columns, for percentiles, rolling windows and
+     * other analyses beyond {@link #aggregate}.
+     *
+     * @param from First day of the range (inclusive)
+     * @param to Last day of the range (inclusive)
+     * @return Stored days within the range
+     */
+    public synchronized DailyMetricsColumns getColumns(LocalDate from, LocalDate to) {
+        int start = indexOf(from.toEpochDay());
+        int end = Math.max(start, indexOf(to.toEpochDay() + 1));
+        DailyMetricsColumns.Builder columns = DailyMetricsColumns.builder();
+        for (int i = start; i < end; i++) {
+            columns.add(epochDays[i], suggestionsAccepted[i], linesAccepted[i], activeUsers[i]);
+        }
+        return columns.build();
+    }
+
+    /**
+     * Gets the first stored day.
+     *
+     * @return First day, or null if the store is empty
+     */
+    public synchronized LocalDate getFirstDay() {
+        return size > 0 ? LocalDate.ofEpochDay(epochDays[0]) : null;
+    }
+
+    /**
+     * Gets the last stored day.
+     *
+     * @return Last day, or null if the store is empty
+     */
+    public synchronized LocalDate getLastDay() {
+        return size > 0 ? LocalDate.ofEpochDay(epochDays[size - 1]) : null;
+    }
+
+    /**
+     * Gets the number of stored days.
+     *
+     * @return number of days
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Finds the index of the first stored day on or after the given day.
+     */
+    private int indexOf(long epochDay) {
+        int index = Arrays.binarySearch(epochDays, 0, size, (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, epochDay)));
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private void append(DailyMetricsColumns days) throws IOException {
+        int count = days.size();
+        boolean created = !Files.exists(file) || Files.size(file) == 0;
+        ByteBuffer block = ByteBuffer.allocate((created ? HEADER_SIZE : 0) + Integer.BYTES * (1 + COLUMNS * count));
+        if (created) {
+            block.putInt(MAGIC).putInt(VERSION);
+        }
+        block.putInt(count);
+        block.asIntBuffer().put(days.toEpochDayArray())
+                .put(days.toArray(DailyMetricsColumns.Metric.SUGGESTIONS_ACCEPTED))
+                .put(days.toArray(DailyMetricsColumns.Metric.LINES_ACCEPTED))
+                .put(days.toArray(DailyMetricsColumns.Metric.ACTIVE_USERS));
+        block.position(block.limit());
+        block.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (block.hasRemaining()) {
+                channel.write(block);
+            }
+            channel.force(false);
+        }
+
+        ensureCapacity(size + count);
+        for (int i = 0; i < count; i++) {
+            epochDays[size] = days.getEpochDay(i);
+            suggestionsAccepted[size] = days.get(DailyMetricsColumns.Metric.SUGGESTIONS_ACCEPTED, i);
+            linesAccepted[size] = days.get(DailyMetricsColumns.Metric.LINES_ACCEPTED, i);
+            activeUsers[size] = days.get(DailyMetricsColumns.Metric.ACTIVE_USERS, i);
+            size++;
+        }
+    }
+
+    private void load() throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (data.remaining() < HEADER_SIZE) {
+            // The header is written with the first block; drop what a crash left of it so the
+            // next append writes it again
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(0);
+            }
+            return;
+        }
+        if (data.getInt() != MAGIC) {
+            throw new IOException(file + " is not a Copilot usage store");
+        }
+        int version = data.getInt();
+        if (version != VERSION) {
+            throw new IOException(file + " has unsupported version " + version);
+        }
+        int valid = data.position();
+        while (data.remaining() >= Integer.BYTES) {
+            int count = data.getInt();
+            if (count < 0 || data.remaining() < (long) Integer.BYTES * COLUMNS * count) {
+                break;
+            }
+            ensureCapacity(size + count);
+            readColumn(data, epochDays, count);
+            readColumn(data, suggestionsAccepted, count);
+            readColumn(data, linesAccepted, count);
+            readColumn(data, activeUsers, count);
+            size += count;
+            valid = data.position();
+        }
+        if (valid < data.limit()) {
+            // Drop the incomplete block of an interrupted sync so later appends stay aligned
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+            }
+        }
+    }
+
+    private void readColumn(ByteBuffer data, int[] column, int count) {
+        for (int i = 0; i < count; i++) {
+            column[size + i] = data.getInt();
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= epochDays.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, epochDays.length * 2);
+        epochDays = Arrays.copyOf(epochDays, newCapacity);
+        suggestionsAccepted = Arrays.copyOf(suggestionsAccepted, newCapacity);
+        linesAccepted = Arrays.copyOf(linesAccepted, newCapacity);
+        activeUsers = Arrays.copyOf(activeUsers, newCapacity);
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Copilot usage aggregated over a range of days.
+ */
+@Value
+@Builder
+public class CopilotUsageSummary {
+    /**
+     * First day of the range (inclusive).
+     */
+    LocalDate from;
+
+    /**
+     * Last day of the range (inclusive).
+     */
+    LocalDate to;
+
+    /**
+     * Number of days with data within the range.
+     */
+    int days;
+
+    long totalSuggestionsAccepted;
+
+    long totalLinesAccepted;
+
+    /**
+     * Average number of active users per day with data, or 0 if there is none.
+     */
+    double averageActiveUsers;
+
+    /**
+     * Highest number of active users on a single day.
+     */
+    int peakActiveUsers;
+}
@@ -0,0 +1,373 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Daily Copilot usage metrics stored column by column in primitive arrays.
+ * <p>
+ * Each day takes 16 bytes: the day as an epoch day plus one {@code int} per counter, compared
+ * to well over 100 bytes for a {@link CopilotUsageMetrics.DailyMetrics} object with its
+ * {@link LocalDateTime}. The aggregations are plain loops over the arrays, which the JIT
+ * compiler unrolls and vectorizes.
+ * <p>
+ * Days are kept in the order they were added; the decoders and the usage store add them in
+ * ascending order. Instances are immutable.
+ */
+public final class DailyMetricsColumns {
+    private static final DateTimeFormatter FALLBACK_FORMAT = DateTimeFormatter.ISO_DATE_TIME;
+
+    private final int[] epochDays;
+    private final int[] suggestionsAccepted;
+    private final int[] linesAccepted;
+    private final int[] activeUsers;
+
+    private DailyMetricsColumns(int[] epochDays, int[] suggestionsAccepted, int[] linesAccepted, int[] activeUsers) {
+        this.epochDays = epochDays;
+        this.suggestionsAccepted = suggestionsAccepted;
+        this.linesAccepted = linesAccepted;
+        this.activeUsers = activeUsers;
+    }
+
+    /**
+     * Creates a builder for adding days one at a time.
+     *
+     * @return new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Converts daily metrics objects to columns.
+     *
+     * @param dailyMetrics Daily metrics in the desired order
+     * @return columns holding the same days
+     */
+    public static DailyMetricsColumns of(List<CopilotUsageMetrics.DailyMetrics> dailyMetrics) {
+        Builder builder = new Builder(dailyMetrics.size());
+        for (CopilotUsageMetrics.DailyMetrics daily : dailyMetrics) {
+            builder.add(daily.getDate().toLocalDate().toEpochDay(), daily.getSuggestionsAccepted(),
+                    daily.getLinesAccepted(), daily.getActiveUsers());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gets the number of days.
+     *
+     * @return number of days
+     */
+    public int size() {
+        return epochDays.length;
+    }
+
+    /**
+     * Gets the day of an entry.
+     *
+     * @param index Entry index
+     * @return day of the entry
+     */
+    public LocalDate getDate(int index) {
+        return LocalDate.ofEpochDay(epochDays[index]);
+    }
+
+    /**
+     * Gets the day of an entry as days since 1970-01-01.
+     *
+     * @param index Entry index
+     * @return epoch day of the entry
+     */
+    public int getEpochDay(int index) {
+        return epochDays[index];
+    }
+
+    /**
+     * Gets the value of a metric for an entry.
+     *
+     * @param metric Metric to read
+     * @param index Entry index
+     * @return metric value
+     */
+    public int get(Metric metric, int index) {
+        return column(metric)[index];
+    }
+
+    /**
+     * Copies a metric column.
+     *
+     * @param metric Metric to copy
+     * @return values of the metric, one per day
+     */
+    public int[] toArray(Metric metric) {
+        return column(metric).clone();
+    }
+
+    /**
+     * Copies the days as epoch days.
+     *
+     * @return epoch day of each entry
+     */
+    public int[] toEpochDayArray() {
+        return epochDays.clone();
+    }
+
+    /**
+     * Selects the days within a range. Requires the days to be in ascending order.
+     *
+     * @param from First day of the range (inclusive)
+     * @param to Last day of the range (inclusive)
+     * @return columns holding only the days within the range
+     */
+    public DailyMetricsColumns slice(LocalDate from, LocalDate to) {
+        int start = indexOf(from.toEpochDay());
+        int end = Math.max(start, indexOf(to.toEpochDay() + 1));
+        return new DailyMetricsColumns(
+                Arrays.copyOfRange(epochDays, start, end),
+                Arrays.copyOfRange(suggestionsAccepted, start, end),
+                Arrays.copyOfRange(linesAccepted, start, end),
+                Arrays.copyOfRange(activeUsers, start, end));
+    }
+
+    /**
+     * Sums a metric over all days.
+     *
+     * @param metric Metric to sum
+     * @return sum of the metric
+     */
+    public long sum(Metric metric) {
+        int[] values = column(metric);
+        long sum = 0;
+        for (int value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /**
+     * Averages a metric over all days.
+     *
+     * @param metric Metric to average
+     * @return average of the metric, or 0 if there are no days
+     */
+    public double average(Metric metric) {
+        return size() > 0 ? (double) sum(metric) / size() : 0;
+    }
+
+    /**
+     * Gets the highest value of a metric.
+     *
+     * @param metric Metric to inspect
+     * @return highest value, or 0 if there are no days
+     */
+    public int max(Metric metric) {
+        int[] values = column(metric);
+        int max = 0;
+        for (int value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    /**
+     * Gets a percentile of a metric, interpolating linearly between the closest ranks.
+     *
+     * @param metric Metric to inspect
+     * @param percentile Percentile between 0 and 100, e.g. 50 for the median
+     * @return percentile value, or 0 if there are no days
+     */
+    public double percentile(Metric metric, double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        if (size() == 0) {
+            return 0;
+        }
+        int[] sorted = toArray(metric);
+        Arrays.sort(sorted);
+        double rank = percentile / 100 * (sorted.length - 1);
+        int lower = (int) Math.floor(rank);
+        int upper = (int) Math.ceil(rank);
+        return sorted[lower] + (rank - lower) * (sorted[upper] - sorted[lower]);
+    }
+
+    /**
+     * Sums a metric over a sliding window of consecutive entries.
+     *
+     * @param metric Metric to sum
+     * @param window Number of entries per window
+     * @return one sum per window position, ending at entries {@code window - 1} to {@code size() - 1}
+     */
+    public long[] rollingSum(Metric metric, int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+        int[] values = column(metric);
+        if (values.length < window) {
+            return new long[0];
+        }
+        long[] sums = new long[values.length - window + 1];
+        long sum = 0;
+        for (int i = 0; i < window; i++) {
+            sum += values[i];
+        }
+        sums[0] = sum;
+        for (int i = window; i < values.length; i++) {
+            sum += values[i] - values[i - window];
+            sums[i - window + 1] = sum;
+        }
+        return sums;
+    }
+
+    /**
+     * Averages a metric over a sliding window of consecutive entries, e.g. a 7-day average.
+     *
+     * @param metric Metric to average
+     * @param window Number of entries per window
+     * @return one average per window position
+     */
+    public double[] rollingAverage(Metric metric, int window) {
+        long[] sums = rollingSum(metric, window);
+        double[] averages = new double[sums.length];
+        for (int i = 0; i < sums.length; i++) {
+            averages[i] = (double) sums[i] / window;
+        }
+        return averages;
+    }
+
+    private int[] column(Metric metric) {
+        switch (metric) {
+            case SUGGESTIONS_ACCEPTED:
+                return suggestionsAccepted;
+            case LINES_ACCEPTED:
+                return linesAccepted;
+            case ACTIVE_USERS:
+                return activeUsers;
+            default:
+                throw new IllegalArgumentException("Unknown metric: " + metric);
+        }
+    }
+
+    private int indexOf(long epochDay) {
+        int key = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, epochDay));
+        int index = Arrays.binarySearch(epochDays, key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Parses the day of a GitHub timestamp such as {@code 2024-05-01T00:00:00Z} to an epoch day
+     * without creating date objects. Other ISO forms fall back to the formatter.
+     *
+     * @param timestamp ISO-8601 date or date-time
+     * @return epoch day of the timestamp
+     */
+    static long parseEpochDay(String timestamp) {
+        if (timestamp.length() >= 10 && timestamp.charAt(4) == '-' && timestamp.charAt(7) == '-'
+                && (timestamp.length() == 10 || timestamp.charAt(10) == 'T')) {
+            int year = LocalDateTimeAdapter.digits(timestamp, 0, 4);
+            int month = LocalDateTimeAdapter.digits(timestamp, 5, 7);
+            int day = LocalDateTimeAdapter.digits(timestamp, 8, 10);
+            if (year >= 0 && month >= 1 && month <= 12 && day >= 1 && day <= Month.of(month).length(Year.isLeap(year))) {
+                return epochDay(year, month, day);
+            }
+        }
+        return LocalDateTime.parse(timestamp, FALLBACK_FORMAT).toLocalDate().toEpochDay();
+    }
+
+    /**
+     * Same arithmetic as {@link LocalDate#toEpochDay()}.
+     */
+    static long epochDay(int year, int month, int day) {
+        long total = 365L * year;
+        if (year >= 0) {
+            total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        } else {
+            total -= year / -4 - year / -100 + year / -400;
+        }
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            boolean leap = (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+            if (!leap) {
+                total--;
+            }
+        }
+        return total - 719528;
+    }
+
+    /**
+     * Counters of the daily metrics.
+     */
+    public enum Metric {
+        SUGGESTIONS_ACCEPTED,
+        LINES_ACCEPTED,
+        ACTIVE_USERS
+    }
+
+    /**
+     * Builder collecting days into growing columns.
+     */
+    public static final class Builder {
+        private int[] epochDays;
+        private int[] suggestionsAccepted;
+        private int[] linesAccepted;
+        private int[] activeUsers;
+        private int size;
+
+        private Builder() {
+            this(32);
+        }
+
+        private Builder(int capacity) {
+            int initial = Math.max(1, capacity);
+            epochDays = new int[initial];
+            suggestionsAccepted = new int[initial];
+            linesAccepted = new int[initial];
+            activeUsers = new int[initial];
+        }
+
+        /**
+         * Adds a day.
+         *
+         * @param epochDay Day as days since 1970-01-01
+         * @param suggestionsAccepted Accepted suggestions
+         * @param linesAccepted Accepted lines
+         * @param activeUsers Active users
+         * @return this builder
+         */
+        public Builder add(long epochDay, int suggestionsAccepted, int linesAccepted, int activeUsers) {
+            if (size == epochDays.length) {
+                int capacity = size * 2;
+                this.epochDays = Arrays.copyOf(this.epochDays, capacity);
+                this.suggestionsAccepted = Arrays.copyOf(this.suggestionsAccepted, capacity);
+                this.linesAccepted = Arrays.copyOf(this.linesAccepted, capacity);
+                this.activeUsers = Arrays.copyOf(this.activeUsers, capacity);
+            }
+            this.epochDays[size] = Math.toIntExact(epochDay);
+            this.suggestionsAccepted[size] = suggestionsAccepted;
+            this.linesAccepted[size] = linesAccepted;
+            this.activeUsers[size] = activeUsers;
+            size++;
+            return this;
+        }
+
+        /**
+         * Creates the columns, trimmed to the number of days added.
+         *
+         * @return new DailyMetricsColumns
+         */
+        public DailyMetricsColumns build() {
+            return new DailyMetricsColumns(
+                    Arrays.copyOf(epochDays, size),
+                    Arrays.copyOf(suggestionsAccepted, size),
+                    Arrays.copyOf(linesAccepted, size),
+                    Arrays.copyOf(activeUsers, size));
+        }
+    }
+}
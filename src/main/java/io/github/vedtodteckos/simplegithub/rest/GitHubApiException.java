@@ -0,0 +1,33 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import java.io.IOException;
+
+/**
+ * Thrown when the GitHub REST API answers a request with an error status.
+ */
+public class GitHubApiException extends IOException {
+    private final int statusCode;
+
+    /**
+     * Creates a new exception for a failed request.
+     *
+     * @param method HTTP method of the failed request
+     * @param endpoint Endpoint of the failed request
+     * @param statusCode HTTP status code returned by GitHub
+     * @param responseBody Body of the error response, may be empty
+     */
+    public GitHubApiException(String method, String endpoint, int statusCode, String responseBody) {
+        super(method + " " + endpoint + " failed with status " + statusCode
+                + (responseBody == null || responseBody.isEmpty() ? "" : ": " + responseBody));
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Gets the HTTP status code returned by GitHub.
+     *
+     * @return HTTP status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
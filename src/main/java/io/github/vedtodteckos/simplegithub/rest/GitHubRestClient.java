@@ -2,42 +2,137 @@ package io.github.vedtodteckos.simplegithub.rest;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import lombok.RequiredArgsConstructor;
-import org.kohsuke.github.GitHub;
-import org.kohsuke.github.HttpConnector;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Client for direct GitHub REST API communication.
- * Handles endpoints not covered by the standard GitHub API library.
+ * Handles endpoints not covered by the standard GitHub API library, and GraphQL queries for
+ * bulk reads that would take many REST requests.
+ * All requests of a client share one pooled {@link HttpClient}, so connections and
+ * TLS sessions are reused across calls. Every endpoint is available both as a blocking
+ * method and as an asynchronous variant returning a {@link CompletableFuture}.
+ * Responses are decoded straight from the response stream, without buffering the body.
+ * Asynchronous responses are decoded on a separate executor, so that reading a slow body never
+ * blocks the threads of the HTTP client.
+ * <p>
+ * Requests are paced by a {@link RateLimitScheduler}. Requests that hit a rate limit wait for the
+ * budget to recover and are retried instead of failing.
+ * <p>
+ * With an {@link HttpResponseCache} configured, GET requests are made conditional and
+ * unchanged responses are served from the cache.
+ * <p>
+ * Identical GET requests made concurrently, for example by several worker threads asking for
+ * the same organization's seats, share one network call and one decoded result.
  */
-@RequiredArgsConstructor
 public class GitHubRestClient {
     private static final String API_BASE_URL = "https://api.github.com";
+    private static final String GRAPHQL_ENDPOINT = "/graphql";
+    private static final String API_VERSION = "2022-11-28";
+    private static final int MAX_RATE_LIMIT_RETRIES = 3;
+    private static final int SEAT_BATCH_SIZE = 100;
+    private static final int SEAT_FALLBACK_CONCURRENCY = 8;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int PULL_REQUEST_EDIT_CONCURRENCY = 8;
+    private static final ResponseDecoder<DailyMetricsColumns> USAGE_COLUMNS_DECODER = GitHubRestClient::decodeUsageColumns;
+    private static final ResponseDecoder<List<String>> LABELS_DECODER = (reader, headers) -> readLabelNames(reader);
+    private static final ResponseDecoder<List<String>> PULL_REQUEST_LABELS_DECODER = GitHubRestClient::decodePullRequestLabels;
     private final String token;
-    private final HttpConnector connector;
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final Executor decodeExecutor;
+    private final Duration requestTimeout;
+    private final RateLimitScheduler rateLimitScheduler;
+    private final HttpResponseCache responseCache;
+    private final SingleFlight<Map.Entry<String, ResponseDecoder<?>>, Object> inFlightRequests;
+    private final Map<Class<?>, ResponseDecoder<?>> decoders = new ConcurrentHashMap<>();
     private final Gson gson;
 
     /**
-     * Creates a new GitHubRestClient instance.
+     * Creates a new GitHubRestClient instance with default transport settings.
      *
      * @param token GitHub personal access token
+     * @throws IOException if the client cannot be created
      */
     public GitHubRestClient(String token) throws IOException {
-        this.token = token;
-        this.connector = GitHub.connectUsingOAuth(token).getConnector();
+        this(builder().token(token));
+    }
+
+    private GitHubRestClient(Builder builder) {
+        this.token = builder.token;
+        this.baseUrl = builder.baseUrl;
+        this.requestTimeout = builder.requestTimeout;
+        this.httpClient = builder.httpClient != null ? builder.httpClient : builder.newHttpClient();
+        this.decodeExecutor = builder.decodeExecutor != null ? builder.decodeExecutor : DecodeThreads.EXECUTOR;
+        this.rateLimitScheduler = builder.rateLimitScheduler != null ? builder.rateLimitScheduler : new RateLimitScheduler();
+        this.responseCache = builder.responseCache;
+        this.inFlightRequests = builder.coalesceRequests ? new SingleFlight<>() : null;
         this.gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapterFactory(new RestModelAdapters())
                 .create();
     }
 
+    /**
+     * Creates a builder for configuring the client transport.
+     *
+     * @return new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the scheduler pacing the requests of this client.
+     *
+     * @return rate limit scheduler
+     */
+    public RateLimitScheduler getRateLimitScheduler() {
+        return rateLimitScheduler;
+    }
+
     /**
      * Gets Copilot seat information for the authenticated user's organization.
      *
@@ -46,8 +141,51 @@ public class GitHubRestClient {
      * @throws IOException if the request fails
      */
     public CopilotSeatInfo getCopilotSeats(String orgName) throws IOException {
-        String response = sendGetRequest("/orgs/" + orgName + "/copilot/billing");
-        return gson.fromJson(response, CopilotSeatInfo.class);
+        return sendGetRequest(seatsEndpoint(orgName), decoderFor(CopilotSeatInfo.class));
+    }
+
+    /**
+     * Asynchronously gets Copilot seat information for the organization.
+     *
+     * @param orgName Organization name
+     * @return future completed with the seat allocation details
+     * @see #getCopilotSeats(String)
+     */
+    public CompletableFuture<CopilotSeatInfo> getCopilotSeatsAsync(String orgName) {
+        return sendGetRequestAsync(seatsEndpoint(orgName), decoderFor(CopilotSeatInfo.class));
+    }
+
+    /**
+     * Streams all Copilot seats of the organization, 100 seats per page.
+     *
+     * @param orgName Organization name
+     * @return Lazy stream of the organization's seats
+     * @throws IOException if the first page cannot be fetched
+     * @see #streamCopilotSeats(String, int)
+     */
+    public Stream<CopilotSeat> streamCopilotSeats(String orgName) throws IOException {
+        return streamCopilotSeats(orgName, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Streams all Copilot seats of the organization.
+     * Pages are fetched as the stream is consumed, following the Link headers of the responses.
+     * The next page is requested as soon as a page arrives, so it is usually ready by the time
+     * the current page has been consumed. Memory use is bounded by two pages.
+     * <p>
+     * Failures fetching later pages surface as {@link UncheckedIOException} from the stream.
+     *
+     * @param orgName Organization name
+     * @param pageSize Number of seats to request per page (at most 100)
+     * @return Lazy stream of the organization's seats
+     * @throws IOException if the first page cannot be fetched
+     */
+    public Stream<CopilotSeat> streamCopilotSeats(String orgName, int pageSize) throws IOException {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        String endpoint = seatListEndpoint(orgName) + "?per_page=" + Math.min(pageSize, MAX_PAGE_SIZE);
+        return stream(endpoint, pageDecoder("seats", CopilotSeat.class));
     }
 
     /**
@@ -60,10 +198,81 @@ public class GitHubRestClient {
      * @throws IOException if the request fails
      */
     public CopilotUsageMetrics getCopilotUsage(String orgName, LocalDateTime startDate, LocalDateTime endDate) throws IOException {
-        String endpoint = String.format("/orgs/%s/copilot/usage?start_date=%s&end_date=%s",
-                orgName, startDate.toString(), endDate.toString());
-        String response = sendGetRequest(endpoint);
-        return gson.fromJson(response, CopilotUsageMetrics.class);
+        return sendGetRequest(usageEndpoint(orgName, startDate, endDate), decoderFor(CopilotUsageMetrics.class));
+    }
+
+    /**
+     * Gets Copilot usage metrics for the organization, handing each day's metrics to a consumer
+     * as it is decoded instead of collecting them in a list.
+     * Memory use stays constant no matter how many days the response covers.
+     *
+     * @param orgName Organization name
+     * @param startDate Start date for metrics (inclusive)
+     * @param endDate End date for metrics (inclusive)
+     * @param dailyMetricsConsumer Receives the daily metrics in response order
+     * @return CopilotUsageMetrics with the organization totals and an empty daily metrics list
+     * @throws IOException if the request fails
+     */
+    public CopilotUsageMetrics getCopilotUsage(String orgName, LocalDateTime startDate, LocalDateTime endDate,
+                                               Consumer<CopilotUsageMetrics.DailyMetrics> dailyMetricsConsumer) throws IOException {
+        return sendGetRequest(usageEndpoint(orgName, startDate, endDate), usageDecoder(dailyMetricsConsumer));
+    }
+
+    /**
+     * Gets the daily Copilot usage metrics of the organization as primitive columns.
+     * The days are decoded straight into the columns, without creating an object per day,
+     * which keeps large multi-org or multi-year analyses compact in memory.
+     *
+     * @param orgName Organization name
+     * @param startDate Start date for metrics (inclusive)
+     * @param endDate End date for metrics (inclusive)
+     * @return Daily metrics in response order
+     * @throws IOException if the request fails
+     */
+    public DailyMetricsColumns getCopilotUsageColumns(String orgName, LocalDateTime startDate, LocalDateTime endDate) throws IOException {
+        return sendGetRequest(usageEndpoint(orgName, startDate, endDate), USAGE_COLUMNS_DECODER);
+    }
+
+    /**
+     * Asynchronously gets the daily Copilot usage metrics of the organization as primitive columns.
+     *
+     * @param orgName Organization name
+     * @param startDate Start date for metrics (inclusive)
+     * @param endDate End date for metrics (inclusive)
+     * @return future completed with the daily metrics
+     * @see #getCopilotUsageColumns(String, LocalDateTime, LocalDateTime)
+     */
+    public CompletableFuture<DailyMetricsColumns> getCopilotUsageColumnsAsync(String orgName, LocalDateTime startDate, LocalDateTime endDate) {
+        return sendGetRequestAsync(usageEndpoint(orgName, startDate, endDate), USAGE_COLUMNS_DECODER);
+    }
+
+    /**
+     * Asynchronously gets Copilot usage metrics for the organization.
+     *
+     * @param orgName Organization name
+     * @param startDate Start date for metrics (inclusive)
+     * @param endDate End date for metrics (inclusive)
+     * @return future completed with the usage statistics
+     * @see #getCopilotUsage(String, LocalDateTime, LocalDateTime)
+     */
+    public CompletableFuture<CopilotUsageMetrics> getCopilotUsageAsync(String orgName, LocalDateTime startDate, LocalDateTime endDate) {
+        return sendGetRequestAsync(usageEndpoint(orgName, startDate, endDate), decoderFor(CopilotUsageMetrics.class));
+    }
+
+    /**
+     * Asynchronously gets Copilot usage metrics for the organization, handing each day's metrics
+     * to a consumer as it is decoded.
+     *
+     * @param orgName Organization name
+     * @param startDate Start date for metrics (inclusive)
+     * @param endDate End date for metrics (inclusive)
+     * @param dailyMetricsConsumer Receives the daily metrics in response order
+     * @return future completed with the organization totals and an empty daily metrics list
+     * @see #getCopilotUsage(String, LocalDateTime, LocalDateTime, Consumer)
+     */
+    public CompletableFuture<CopilotUsageMetrics> getCopilotUsageAsync(String orgName, LocalDateTime startDate, LocalDateTime endDate,
+                                                                       Consumer<CopilotUsageMetrics.DailyMetrics> dailyMetricsConsumer) {
+        return sendGetRequestAsync(usageEndpoint(orgName, startDate, endDate), usageDecoder(dailyMetricsConsumer));
     }
 
     /**
@@ -75,8 +284,19 @@ public class GitHubRestClient {
      * @throws IOException if the request fails
      */
     public CopilotUserStatus getCopilotUserStatus(String orgName, String username) throws IOException {
-        String response = sendGetRequest("/orgs/" + orgName + "/members/" + username + "/copilot");
-        return gson.fromJson(response, CopilotUserStatus.class);
+        return sendGetRequest(memberEndpoint(orgName, username), decoderFor(CopilotUserStatus.class));
+    }
+
+    /**
+     * Asynchronously gets Copilot user assignment status for a specific user.
+     *
+     * @param orgName Organization name
+     * @param username GitHub username
+     * @return future completed with the user's Copilot status
+     * @see #getCopilotUserStatus(String, String)
+     */
+    public CompletableFuture<CopilotUserStatus> getCopilotUserStatusAsync(String orgName, String username) {
+        return sendGetRequestAsync(memberEndpoint(orgName, username), decoderFor(CopilotUserStatus.class));
     }
 
     /**
@@ -87,7 +307,19 @@ public class GitHubRestClient {
      * @throws IOException if the request fails
      */
     public void assignCopilotSeat(String orgName, String username) throws IOException {
-        sendPutRequest("/orgs/" + orgName + "/members/" + username + "/copilot", Map.of());
+        sendPutRequest(memberEndpoint(orgName, username), Map.of());
+    }
+
+    /**
+     * Asynchronously assigns Copilot seat to a user in the organization.
+     *
+     * @param orgName Organization name
+     * @param username GitHub username
+     * @return future completed once the seat is assigned
+     * @see #assignCopilotSeat(String, String)
+     */
+    public CompletableFuture<Void> assignCopilotSeatAsync(String orgName, String username) {
+        return sendRequestAsync("PUT", memberEndpoint(orgName, username), Map.of(), null);
     }
 
     /**
@@ -98,38 +330,1209 @@ public class GitHubRestClient {
      * @throws IOException if the request fails
      */
     public void removeCopilotSeat(String orgName, String username) throws IOException {
-        sendDeleteRequest("/orgs/" + orgName + "/members/" + username + "/copilot");
+        sendDeleteRequest(memberEndpoint(orgName, username));
+    }
+
+    /**
+     * Asynchronously removes Copilot seat from a user in the organization.
+     *
+     * @param orgName Organization name
+     * @param username GitHub username
+     * @return future completed once the seat is removed
+     * @see #removeCopilotSeat(String, String)
+     */
+    public CompletableFuture<Void> removeCopilotSeatAsync(String orgName, String username) {
+        return sendRequestAsync("DELETE", memberEndpoint(orgName, username), null, null);
+    }
+
+    /**
+     * Assigns Copilot seats to many users of the organization.
+     * Users are added in batches of 100 through the organization's selected users endpoint.
+     * If a batch is rejected, its users are assigned one by one, a few at a time, so that a
+     * single invalid user doesn't fail the others. Failures are reported per user instead of
+     * being thrown.
+     *
+     * @param orgName Organization name
+     * @param usernames GitHub usernames; duplicates are ignored
+     * @return Report of the users that succeeded and the failure of each user that didn't
+     */
+    public CopilotSeatReport assignCopilotSeats(String orgName, Collection<String> usernames) {
+        return assignCopilotSeatsAsync(orgName, usernames).join();
+    }
+
+    /**
+     * Asynchronously assigns Copilot seats to many users of the organization.
+     * The returned future doesn't complete exceptionally; failures are part of the report.
+     *
+     * @param orgName Organization name
+     * @param usernames GitHub usernames; duplicates are ignored
+     * @return future completed with the per-user report
+     * @see #assignCopilotSeats(String, Collection)
+     */
+    public CompletableFuture<CopilotSeatReport> assignCopilotSeatsAsync(String orgName, Collection<String> usernames) {
+        return changeCopilotSeatsAsync("POST", orgName, usernames, "seats_created",
+                username -> assignCopilotSeatAsync(orgName, username));
+    }
+
+    /**
+     * Removes Copilot seats from many users of the organization.
+     * Users are removed in batches of 100 through the organization's selected users endpoint,
+     * falling back to one by one removal for rejected batches. Failures are reported per user
+     * instead of being thrown.
+     *
+     * @param orgName Organization name
+     * @param usernames GitHub usernames; duplicates are ignored
+     * @return Report of the users that succeeded and the failure of each user that didn't
+     */
+    public CopilotSeatReport removeCopilotSeats(String orgName, Collection<String> usernames) {
+        return removeCopilotSeatsAsync(orgName, usernames).join();
+    }
+
+    /**
+     * Asynchronously removes Copilot seats from many users of the organization.
+     * The returned future doesn't complete exceptionally; failures are part of the report.
+     *
+     * @param orgName Organization name
+     * @param usernames GitHub usernames; duplicates are ignored
+     * @return future completed with the per-user report
+     * @see #removeCopilotSeats(String, Collection)
+     */
+    public CompletableFuture<CopilotSeatReport> removeCopilotSeatsAsync(String orgName, Collection<String> usernames) {
+        return changeCopilotSeatsAsync("DELETE", orgName, usernames, "seats_cancelled",
+                username -> removeCopilotSeatAsync(orgName, username));
+    }
+
+    private CompletableFuture<CopilotSeatReport> changeCopilotSeatsAsync(String method, String orgName, Collection<String> usernames,
+                                                                         String countField,
+                                                                         Function<String, CompletableFuture<Void>> singleChange) {
+        List<String> users = List.copyOf(new LinkedHashSet<>(usernames));
+        Map<String, IOException> failures = new ConcurrentHashMap<>();
+        AtomicInteger seatsChanged = new AtomicInteger();
+
+        CompletableFuture<Void> batches = CompletableFuture.completedFuture(null);
+        for (int from = 0; from < users.size(); from += SEAT_BATCH_SIZE) {
+            List<String> batch = users.subList(from, Math.min(from + SEAT_BATCH_SIZE, users.size()));
+            batches = batches.thenCompose(ignored -> sendRequestAsync(method, selectedUsersEndpoint(orgName),
+                    Map.of("selected_usernames", batch), countDecoder(countField))
+                    .handle((count, failure) -> {
+                        if (failure == null) {
+                            seatsChanged.addAndGet(count);
+                            return CompletableFuture.<Void>completedFuture(null);
+                        }
+                        IOException error = unwrap(failure);
+                        if (!isRetryableOneByOne(error)) {
+                            batch.forEach(username -> failures.put(username, error));
+                            return CompletableFuture.<Void>completedFuture(null);
+                        }
+                        return BoundedFanOut.forEach(batch, SEAT_FALLBACK_CONCURRENCY, username -> singleChange.apply(username)
+                                .whenComplete((result, singleFailure) -> {
+                                    if (singleFailure == null) {
+                                        seatsChanged.incrementAndGet();
+                                    } else {
+                                        failures.put(username, unwrap(singleFailure));
+                                    }
+                                }));
+                    })
+                    .thenCompose(Function.identity()));
+        }
+        return batches.thenApply(ignored -> CopilotSeatReport.builder()
+                .succeeded(users.stream().filter(username -> !failures.containsKey(username)).collect(Collectors.toList()))
+                .failures(Map.copyOf(failures))
+                .seatsChanged(seatsChanged.get())
+                .build());
+    }
+
+    /**
+     * Runs a GraphQL query.
+     *
+     * @param query GraphQL query document
+     * @param variables Values of the query variables, may be empty
+     * @return The data of the response
+     * @throws IOException if the request fails or GitHub reports errors for the query
+     */
+    public JsonObject graphql(String query, Map<String, Object> variables) throws IOException {
+        return sendRequest("POST", GRAPHQL_ENDPOINT, graphqlBody(query, variables), GitHubRestClient::decodeGraphQL);
+    }
+
+    /**
+     * Asynchronously runs a GraphQL query.
+     *
+     * @param query GraphQL query document
+     * @param variables Values of the query variables, may be empty
+     * @return future completed with the data of the response
+     * @see #graphql(String, Map)
+     */
+    public CompletableFuture<JsonObject> graphqlAsync(String query, Map<String, Object> variables) {
+        return sendRequestAsync("POST", GRAPHQL_ENDPOINT, graphqlBody(query, variables), GitHubRestClient::decodeGraphQL);
+    }
+
+    /**
+     * Gets the open pull requests of a repository with their state, merge status, requested
+     * reviewers, commits and review comments, 50 pull requests per GraphQL request.
+     * Building the same dashboard through the pull request handlers takes several REST requests
+     * per pull request.
+     *
+     * @param owner Repository owner
+     * @param name Repository name
+     * @return Snapshots of the open pull requests, newest first
+     * @throws IOException if a request fails
+     */
+    public List<PullRequestSnapshot> getOpenPullRequestSnapshots(String owner, String name) throws IOException {
+        return getOpenPullRequestSnapshots(owner, name, PullRequestSnapshotQuery.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Gets the open pull requests of a repository with their dashboard state.
+     *
+     * @param owner Repository owner
+     * @param name Repository name
+     * @param pageSize Number of pull requests to fetch per request (at most 100)
+     * @return Snapshots of the open pull requests, newest first
+     * @throws IOException if a request fails
+     * @see #getOpenPullRequestSnapshots(String, String)
+     */
+    public List<PullRequestSnapshot> getOpenPullRequestSnapshots(String owner, String name, int pageSize) throws IOException {
+        List<PullRequestSnapshot> snapshots = new ArrayList<>();
+        String cursor = null;
+        do {
+            JsonObject data = graphql(PullRequestSnapshotQuery.QUERY, PullRequestSnapshotQuery.variables(owner, name, pageSize, cursor));
+            cursor = PullRequestSnapshotQuery.read(data, snapshots);
+        } while (cursor != null);
+        return snapshots;
+    }
+
+    /**
+     * Asynchronously gets the open pull requests of a repository with their dashboard state.
+     *
+     * @param owner Repository owner
+     * @param name Repository name
+     * @return future completed with snapshots of the open pull requests, newest first
+     * @see #getOpenPullRequestSnapshots(String, String)
+     */
+    public CompletableFuture<List<PullRequestSnapshot>> getOpenPullRequestSnapshotsAsync(String owner, String name) {
+        List<PullRequestSnapshot> snapshots = new ArrayList<>();
+        return fetchPullRequestSnapshots(owner, name, null, snapshots).thenApply(ignored -> snapshots);
     }
 
-    private String sendGetRequest(String endpoint) throws IOException {
-        return sendRequest("GET", endpoint, null);
+    private CompletableFuture<Void> fetchPullRequestSnapshots(String owner, String name, String cursor,
+                                                              List<PullRequestSnapshot> snapshots) {
+        Map<String, Object> variables;
+        try {
+            variables = PullRequestSnapshotQuery.variables(owner, name, PullRequestSnapshotQuery.DEFAULT_PAGE_SIZE, cursor);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return graphqlAsync(PullRequestSnapshotQuery.QUERY, variables)
+                .thenCompose(data -> {
+                    String next;
+                    try {
+                        next = PullRequestSnapshotQuery.read(data, snapshots);
+                    } catch (GitHubApiException e) {
+                        throw new CompletionException(e);
+                    }
+                    return next != null
+                            ? fetchPullRequestSnapshots(owner, name, next, snapshots)
+                            : CompletableFuture.completedFuture(null);
+                });
     }
 
-    private String sendPutRequest(String endpoint, Map<String, Object> body) throws IOException {
-        return sendRequest("PUT", endpoint, body);
+    private static Map<String, Object> graphqlBody(String query, Map<String, Object> variables) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("query", query);
+        body.put("variables", variables);
+        return body;
     }
 
-    private String sendDeleteRequest(String endpoint) throws IOException {
-        return sendRequest("DELETE", endpoint, null);
+    /**
+     * GitHub answers GraphQL requests with status 200 even when the query fails,
+     * reporting the failure in an errors array instead.
+     */
+    private static JsonObject decodeGraphQL(JsonReader reader, Map<String, List<String>> headers) throws IOException {
+        JsonObject response = JsonParser.parseReader(reader).getAsJsonObject();
+        JsonArray errors = response.has("errors") && response.get("errors").isJsonArray()
+                ? response.getAsJsonArray("errors") : null;
+        if (errors != null && errors.size() > 0) {
+            throw new GitHubApiException("POST", GRAPHQL_ENDPOINT, 200, errors.toString());
+        }
+        return response.has("data") && response.get("data").isJsonObject() ? response.getAsJsonObject("data") : new JsonObject();
     }
 
-    private String sendRequest(String method, String endpoint, Map<String, Object> body) throws IOException {
-        URL url = new URL(API_BASE_URL + endpoint);
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        conn.setRequestMethod(method);
-        conn.setRequestProperty("Authorization", "Bearer " + token);
-        conn.setRequestProperty("Accept", "application/vnd.github+json");
-        conn.setRequestProperty("X-GitHub-Api-Version", "2022-11-28");
+    /**
+     * Applies an edit to a pull request with as few requests as possible.
+     *
+     * @param owner Repository owner
+     * @param name Repository name
+     * @param number Pull request number
+     * @param edit Changes to apply
+     * @throws IOException if a request fails; changes made by earlier requests remain applied
+     * @see PullRequestEdit
+     */
+    public void editPullRequest(String owner, String name, int number, PullRequestEdit edit) throws IOException {
+        try {
+            editPullRequestAsync(owner, name, number, edit).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Asynchronously applies an edit to a pull request.
+     *
+     * @param owner Repository owner
+     * @param name Repository name
+     * @param number Pull request number
+     * @param edit Changes to apply
+     * @return future completed once every change is applied
+     * @see #editPullRequest(String, String, int, PullRequestEdit)
+     */
+    public CompletableFuture<Void> editPullRequestAsync(String owner, String name, int number, PullRequestEdit edit) {
+        String pullRequest = "/repos/" + owner + "/" + name + "/pulls/" + number;
+        String labels = "/repos/" + owner + "/" + name + "/issues/" + number + "/labels";
+
+        CompletableFuture<List<String>> currentLabels;
+        if (edit.hasFields()) {
+            // The updated pull request carries its labels, saving a separate read
+            currentLabels = sendRequestAsync("PATCH", pullRequest, edit.fields(),
+                    edit.needsCurrentLabels() ? PULL_REQUEST_LABELS_DECODER : null);
+        } else if (edit.needsCurrentLabels()) {
+            currentLabels = sendRequestAsync("GET", labels + "?per_page=" + MAX_PAGE_SIZE, null, LABELS_DECODER);
+        } else {
+            currentLabels = CompletableFuture.completedFuture(List.of());
+        }
+
+        CompletableFuture<Void> labelsChanged = currentLabels.thenCompose(current -> {
+            String labelToRemove = edit.getSingleLabelToRemove();
+            if (labelToRemove != null) {
+                return this.<Void>sendRequestAsync("DELETE", labels + "/" + encodePathSegment(labelToRemove), null, null)
+                        .exceptionally(failure -> {
+                            // Removing a label the pull request doesn't have is not an error; GitHub
+                            // answers it with 404
+                            IOException error = unwrap(failure);
+                            if (error instanceof GitHubApiException && ((GitHubApiException) error).getStatusCode() == 404) {
+                                return null;
+                            }
+                            throw new CompletionException(error);
+                        });
+            }
+            if (edit.replacesLabels()) {
+                return sendRequestAsync("PUT", labels, Map.of("labels", edit.labelsAfter(current)), null);
+            }
+            if (!edit.getLabelsToAdd().isEmpty()) {
+                return sendRequestAsync("POST", labels, Map.of("labels", List.copyOf(edit.getLabelsToAdd())), null);
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+
+        String reviewers = pullRequest + "/requested_reviewers";
+        return labelsChanged
+                .thenCompose(ignored -> edit.getReviewersToAdd().isEmpty()
+                        ? CompletableFuture.completedFuture(null)
+                        : sendRequestAsync("POST", reviewers, Map.of("reviewers", List.copyOf(edit.getReviewersToAdd())), null))
+                .thenCompose(ignored -> edit.getReviewersToRemove().isEmpty()
+                        ? CompletableFuture.completedFuture(null)
+                        : sendRequestAsync("DELETE", reviewers, Map.of("reviewers", List.copyOf(edit.getReviewersToRemove())), null));
+    }
+
+    /**
+     * Applies the same edit to many pull requests of a repository, a few at a time.
+     * Failures are reported per pull request instead of being thrown.
+     *
+     * @param owner Repository owner
+     * @param name Repository name
+     * @param numbers Pull request numbers; duplicates are ignored
+     * @param edit Changes to apply to each pull request
+     * @return Report of the pull requests that succeeded and the failure of each that didn't
+     */
+    public PullRequestEditReport editPullRequests(String owner, String name, Collection<Integer> numbers, PullRequestEdit edit) {
+        return editPullRequestsAsync(owner, name, numbers, edit).join();
+    }
+
+    /**
+     * Asynchronously applies the same edit to many pull requests of a repository.
+     * The returned future doesn't complete exceptionally; failures are part of the report.
+     *
+     * @param owner Repository owner
+     * @param name Repository name
+     * @param numbers Pull request numbers; duplicates are ignored
+     * @param edit Changes to apply to each pull request
+     * @return future completed with the per-pull-request report
+     * @see #editPullRequests(String, String, Collection, PullRequestEdit)
+     */
+    public CompletableFuture<PullRequestEditReport> editPullRequestsAsync(String owner, String name, Collection<Integer> numbers,
+                                                                          PullRequestEdit edit) {
+        Map<Integer, PullRequestEdit> edits = new LinkedHashMap<>();
+        numbers.forEach(number -> edits.put(number, edit));
+        return editPullRequestsAsync(owner, name, edits);
+    }
+
+    /**
+     * Applies a different edit to each of many pull requests of a repository, a few at a time.
+     * Failures are reported per pull request instead of being thrown.
+     *
+     * @param owner Repository owner
+     * @param name Repository name
+     * @param edits Changes to apply per pull request number
+     * @return Report of the pull requests that succeeded and the failure of each that didn't
+     */
+    public PullRequestEditReport editPullRequests(String owner, String name, Map<Integer, PullRequestEdit> edits) {
+        return editPullRequestsAsync(owner, name, edits).join();
+    }
+
+    /**
+     * Asynchronously applies a different edit to each of many pull requests of a repository.
+     * The returned future doesn't complete exceptionally; failures are part of the report.
+     *
+     * @param owner Repository owner
+     * @param name Repository name
+     * @param edits Changes to apply per pull request number
+     * @return future completed with the per-pull-request report
+     * @see #editPullRequests(String, String, Map)
+     */
+    public CompletableFuture<PullRequestEditReport> editPullRequestsAsync(String owner, String name, Map<Integer, PullRequestEdit> edits) {
+        List<Integer> numbers = List.copyOf(edits.keySet());
+        Map<Integer, IOException> failures = new ConcurrentHashMap<>();
+        return BoundedFanOut.forEach(numbers, PULL_REQUEST_EDIT_CONCURRENCY,
+                        number -> editPullRequestAsync(owner, name, number, edits.get(number))
+                                .exceptionally(failure -> {
+                                    failures.put(number, unwrap(failure));
+                                    return null;
+                                }))
+                .thenApply(ignored -> PullRequestEditReport.builder()
+                        .succeeded(numbers.stream().filter(number -> !failures.containsKey(number)).collect(Collectors.toList()))
+                        .failures(Map.copyOf(failures))
+                        .build());
+    }
+
+    /**
+     * Streams the runs of a workflow, newest first, 100 runs per page.
+     *
+     * @param owner Repository owner
+     * @param name Repository name
+     * @param workflowId Workflow ID or file name, e.g. "ci.yml"
+     * @param filters Query parameters narrowing the runs, such as {@code branch}, {@code status},
+     *                {@code event} or {@code created}
+     * @return Lazy stream of the matching runs
+     * @throws IOException if the first page cannot be fetched
+     * @see #streamWorkflowRuns(String, String, String, Map, int)
+     */
+    public Stream<WorkflowRun> streamWorkflowRuns(String owner, String name, String workflowId, Map<String, String> filters)
+            throws IOException {
+        return streamWorkflowRuns(owner, name, workflowId, filters, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Streams the runs of a workflow, newest first.
+     * The listing is scoped to the workflow and the filters are applied by GitHub, so only
+     * matching runs are transferred. Pages are fetched as the stream is consumed, as with
+     * {@link #streamCopilotSeats(String, int)}.
+     *
+     * @param owner Repository owner
+     * @param name Repository name
+     * @param workflowId Workflow ID or file name, e.g. "ci.yml"
+     * @param filters Query parameters narrowing the runs, such as {@code branch}, {@code status},
+     *                {@code event} or {@code created}
+     * @param pageSize Number of runs to request per page (at most 100)
+     * @return Lazy stream of the matching runs
+     * @throws IOException if the first page cannot be fetched
+     */
+    public Stream<WorkflowRun> streamWorkflowRuns(String owner, String name, String workflowId, Map<String, String> filters,
+                                                  int pageSize) throws IOException {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        String endpoint = workflowRunsEndpoint(owner, name, workflowId, filters, Math.min(pageSize, MAX_PAGE_SIZE));
+        return stream(endpoint, pageDecoder("workflow_runs", WorkflowRun.class));
+    }
+
+    /**
+     * Gets the most recent run of a workflow matching the filters.
+     * Only a single run is requested.
+     *
+     * @param owner Repository owner
+     * @param name Repository name
+     * @param workflowId Workflow ID or file name, e.g. "ci.yml"
+     * @param filters Query parameters narrowing the runs, such as {@code branch}, {@code status},
+     *                {@code event} or {@code created}
+     * @return The latest matching run, or null if no run matches
+     * @throws IOException if the GitHub API request fails
+     */
+    public WorkflowRun getLatestWorkflowRun(String owner, String name, String workflowId, Map<String, String> filters)
+            throws IOException {
+        Page<WorkflowRun> page = sendGetRequest(workflowRunsEndpoint(owner, name, workflowId, filters, 1),
+                pageDecoder("workflow_runs", WorkflowRun.class));
+        return page.items.isEmpty() ? null : page.items.get(0);
+    }
+
+    /**
+     * Asynchronously gets the most recent run of a workflow matching the filters.
+     *
+     * @param owner Repository owner
+     * @param name Repository name
+     * @param workflowId Workflow ID or file name, e.g. "ci.yml"
+     * @param filters Query parameters narrowing the runs
+     * @return future completed with the latest matching run, or null if no run matches
+     * @see #getLatestWorkflowRun(String, String, String, Map)
+     */
+    public CompletableFuture<WorkflowRun> getLatestWorkflowRunAsync(String owner, String name, String workflowId,
+                                                                    Map<String, String> filters) {
+        return sendGetRequestAsync(workflowRunsEndpoint(owner, name, workflowId, filters, 1),
+                pageDecoder("workflow_runs", WorkflowRun.class))
+                .thenApply(page -> page.items.isEmpty() ? null : page.items.get(0));
+    }
+
+    /**
+     * A rejected batch is retried one user at a time unless the token itself lacks access,
+     * in which case every single request would fail the same way.
+     */
+    private static boolean isRetryableOneByOne(IOException error) {
+        if (error instanceof GitHubApiException) {
+            int statusCode = ((GitHubApiException) error).getStatusCode();
+            return statusCode != 401 && statusCode != 403;
+        }
+        return true;
+    }
+
+    static IOException unwrap(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        return cause instanceof IOException ? (IOException) cause : new IOException(cause);
+    }
+
+    private static DailyMetricsColumns decodeUsageColumns(JsonReader reader, Map<String, List<String>> headers) throws IOException {
+        DailyMetricsColumns.Builder columns = DailyMetricsColumns.builder();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!reader.nextName().equals("daily_metrics") || reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                long epochDay = Long.MIN_VALUE;
+                int suggestionsAccepted = 0;
+                int linesAccepted = 0;
+                int activeUsers = 0;
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    switch (reader.nextName()) {
+                        case "date":
+                            epochDay = DailyMetricsColumns.parseEpochDay(reader.nextString());
+                            break;
+                        case "suggestions_accepted":
+                            suggestionsAccepted = reader.nextInt();
+                            break;
+                        case "lines_accepted":
+                            linesAccepted = reader.nextInt();
+                            break;
+                        case "active_users":
+                            activeUsers = reader.nextInt();
+                            break;
+                        default:
+                            reader.skipValue();
+                    }
+                }
+                reader.endObject();
+                if (epochDay != Long.MIN_VALUE) {
+                    columns.add(epochDay, suggestionsAccepted, linesAccepted, activeUsers);
+                }
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+        return columns.build();
+    }
+
+    private static List<String> decodePullRequestLabels(JsonReader reader, Map<String, List<String>> headers) throws IOException {
+        List<String> labels = List.of();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("labels") && reader.peek() != JsonToken.NULL) {
+                labels = readLabelNames(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return labels;
+    }
+
+    private static List<String> readLabelNames(JsonReader reader) throws IOException {
+        List<String> labels = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("name")) {
+                    labels.add(reader.nextString());
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        reader.endArray();
+        return labels;
+    }
+
+    private static ResponseDecoder<Integer> countDecoder(String field) {
+        return (reader, headers) -> {
+            int count = 0;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals(field)) {
+                    count = reader.nextInt();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return count;
+        };
+    }
+
+    private static String selectedUsersEndpoint(String orgName) {
+        return "/orgs/" + orgName + "/copilot/billing/selected_users";
+    }
+
+    private static String seatListEndpoint(String orgName) {
+        return "/orgs/" + orgName + "/copilot/billing/seats";
+    }
+
+    private static String seatsEndpoint(String orgName) {
+        return "/orgs/" + orgName + "/copilot/billing";
+    }
+
+    private static String usageEndpoint(String orgName, LocalDateTime startDate, LocalDateTime endDate) {
+        return "/orgs/" + orgName + "/copilot/usage?start_date=" + encode(startDate.toString())
+                + "&end_date=" + encode(endDate.toString());
+    }
+
+    private static String workflowRunsEndpoint(String owner, String name, String workflowId, Map<String, String> filters,
+                                               int pageSize) {
+        StringBuilder endpoint = new StringBuilder("/repos/").append(owner).append('/').append(name)
+                .append("/actions/workflows/").append(encodePathSegment(workflowId)).append("/runs?per_page=").append(pageSize);
+        for (Map.Entry<String, String> filter : filters.entrySet()) {
+            endpoint.append('&').append(encode(filter.getKey())).append('=').append(encode(filter.getValue()));
+        }
+        return endpoint.toString();
+    }
+
+    private static String memberEndpoint(String orgName, String username) {
+        return "/orgs/" + orgName + "/members/" + username + "/copilot";
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Encodes a value for use in a path, where a plus sign is literal rather than a space.
+     */
+    private static String encodePathSegment(String value) {
+        return encode(value).replace("+", "%20");
+    }
+
+    /**
+     * Gets the decoder for a model type. Decoders are reused, so identical requests decoding to
+     * the same type can be coalesced.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> ResponseDecoder<T> decoderFor(Class<T> type) {
+        return (ResponseDecoder<T>) decoders.computeIfAbsent(type,
+                key -> (ResponseDecoder<T>) (reader, headers) -> gson.fromJson(reader, type));
+    }
+
+    private ResponseDecoder<CopilotUsageMetrics> usageDecoder(Consumer<CopilotUsageMetrics.DailyMetrics> dailyMetricsConsumer) {
+        return (reader, headers) -> {
+            CopilotUsageMetrics.CopilotUsageMetricsBuilder metrics = CopilotUsageMetrics.builder()
+                    .dailyMetrics(List.of());
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "daily_metrics":
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.nextNull();
+                            break;
+                        }
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            dailyMetricsConsumer.accept(gson.fromJson(reader, CopilotUsageMetrics.DailyMetrics.class));
+                        }
+                        reader.endArray();
+                        break;
+                    case "total_suggestions_accepted":
+                        metrics.totalSuggestionsAccepted(reader.nextInt());
+                        break;
+                    case "total_lines_accepted":
+                        metrics.totalLinesAccepted(reader.nextInt());
+                        break;
+                    case "acceptance_rate":
+                        metrics.acceptanceRate(reader.nextDouble());
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return metrics.build();
+        };
+    }
+
+    /**
+     * Streams the items of a listing starting at the given endpoint.
+     * The first page is fetched right away, later pages as the stream is consumed.
+     */
+    private <T> Stream<T> stream(String endpoint, ResponseDecoder<Page<T>> decoder) throws IOException {
+        Page<T> first = sendGetRequest(endpoint, decoder);
+        PageIterator<T> pages = new PageIterator<>(first, decoder);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(pages::close);
+    }
+
+    /**
+     * Decodes one page of a listing whose items are wrapped in an object under the given field,
+     * and picks up the link to the next page.
+     */
+    private <T> ResponseDecoder<Page<T>> pageDecoder(String itemsField, Class<T> itemType) {
+        return (reader, headers) -> {
+            List<T> items = new ArrayList<>();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals(itemsField) && reader.peek() != JsonToken.NULL) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        items.add(gson.fromJson(reader, itemType));
+                    }
+                    reader.endArray();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return new Page<>(items, nextPageEndpoint(headers));
+        };
+    }
+
+    /**
+     * Extracts the endpoint of the next page from the Link header.
+     *
+     * @return endpoint relative to the base URL, or null on the last page
+     */
+    private String nextPageEndpoint(Map<String, List<String>> headers) {
+        List<String> links = headers.get("Link");
+        if (links == null) {
+            return null;
+        }
+        for (String link : String.join(",", links).split(",")) {
+            String[] parts = link.split(";");
+            if (parts.length < 2 || !link.contains("rel=\"next\"")) {
+                continue;
+            }
+            String url = parts[0].trim();
+            url = url.substring(1, url.length() - 1);
+            if (url.startsWith(baseUrl)) {
+                return url.substring(baseUrl.length());
+            }
+            URI uri = URI.create(url);
+            return uri.getRawPath() + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "");
+        }
+        return null;
+    }
+
+    /**
+     * Sends a GET request, joining an identical request already in flight. Requests are identical
+     * when they have the same endpoint and decoder; decoders with side effects, such as those
+     * feeding a consumer, are created per call and therefore never shared.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T sendGetRequest(String endpoint, ResponseDecoder<T> decoder) throws IOException {
+        if (inFlightRequests == null) {
+            return sendRequest("GET", endpoint, null, decoder);
+        }
+        return (T) inFlightRequests.execute(Map.entry(endpoint, decoder), () -> sendRequest("GET", endpoint, null, decoder));
+    }
+
+    private void sendPutRequest(String endpoint, Map<String, Object> body) throws IOException {
+        sendRequest("PUT", endpoint, body, null);
+    }
+
+    private void sendDeleteRequest(String endpoint) throws IOException {
+        sendRequest("DELETE", endpoint, null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> sendGetRequestAsync(String endpoint, ResponseDecoder<T> decoder) {
+        if (inFlightRequests == null) {
+            return sendRequestAsync("GET", endpoint, null, decoder);
+        }
+        return (CompletableFuture<T>) inFlightRequests.executeAsync(Map.entry(endpoint, decoder),
+                () -> (CompletableFuture<Object>) sendRequestAsync("GET", endpoint, null, decoder));
+    }
+
+    private <T> T sendRequest(String method, String endpoint, Map<String, Object> body, ResponseDecoder<T> decoder) throws IOException {
+        RateLimitScheduler.Resource resource = resourceOf(endpoint);
+        try (HttpResponseCache.CachedResponse cached = cachedResponse(method, endpoint)) {
+            for (int attempt = 0; ; attempt++) {
+                HttpResponse<InputStream> response;
+                try {
+                    rateLimitScheduler.acquire(resource);
+                    response = httpClient.send(newRequest(method, endpoint, body, cached), HttpResponse.BodyHandlers.ofInputStream());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException(method + " " + endpoint + " was interrupted");
+                }
+                if (attempt < MAX_RATE_LIMIT_RETRIES && isRateLimited(resource, response)) {
+                    discard(response);
+                    continue;
+                }
+                return readResponse(method, endpoint, response, cached, decoder);
+            }
+        }
+    }
+
+    private <T> CompletableFuture<T> sendRequestAsync(String method, String endpoint, Map<String, Object> body, ResponseDecoder<T> decoder) {
+        HttpResponseCache.CachedResponse cached = cachedResponse(method, endpoint);
+        return sendRequestAsync(method, endpoint, body, cached, decoder, 0)
+                .whenComplete((result, failure) -> close(cached));
+    }
+
+    private <T> CompletableFuture<T> sendRequestAsync(String method, String endpoint, Map<String, Object> body,
+                                                      HttpResponseCache.CachedResponse cached, ResponseDecoder<T> decoder, int attempt) {
+        RateLimitScheduler.Resource resource = resourceOf(endpoint);
+        return rateLimitScheduler.acquireAsync(resource)
+                .thenCompose(acquired -> httpClient.sendAsync(newRequest(method, endpoint, body, cached), HttpResponse.BodyHandlers.ofInputStream()))
+                // Reading the body blocks until it has arrived, which must not happen on a client thread
+                .thenComposeAsync(response -> {
+                    if (attempt < MAX_RATE_LIMIT_RETRIES && isRateLimited(resource, response)) {
+                        discard(response);
+                        return sendRequestAsync(method, endpoint, body, cached, decoder, attempt + 1);
+                    }
+                    try {
+                        return CompletableFuture.completedFuture(readResponse(method, endpoint, response, cached, decoder));
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, decodeExecutor);
+    }
+
+    /**
+     * Looks up the cached response for a GET request.
+     * A cache that cannot be read is treated as a miss rather than failing the request.
+     */
+    private HttpResponseCache.CachedResponse cachedResponse(String method, String endpoint) {
+        if (responseCache == null || !"GET".equals(method)) {
+            return null;
+        }
+        try {
+            return responseCache.get(baseUrl + endpoint, authorization());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Feeds the rate limit headers of a response to the scheduler and checks whether the request
+     * was rejected by a rate limit. Secondary rate limits pause the resource for the Retry-After
+     * period; exhausted primary limits make the scheduler wait for the window to reset.
+     */
+    private boolean isRateLimited(RateLimitScheduler.Resource resource, HttpResponse<InputStream> response) {
+        rateLimitScheduler.observe(resource, response.headers().map());
+        if (response.statusCode() != 403 && response.statusCode() != 429) {
+            return false;
+        }
+        Optional<String> retryAfter = response.headers().firstValue("Retry-After");
+        if (retryAfter.isPresent()) {
+            rateLimitScheduler.backOff(resource, retryAfter.get());
+            return true;
+        }
+        return response.headers().firstValue("X-RateLimit-Remaining").filter("0"::equals).isPresent();
+    }
+
+    private static RateLimitScheduler.Resource resourceOf(String endpoint) {
+        if (endpoint.startsWith("/graphql")) {
+            return RateLimitScheduler.Resource.GRAPHQL;
+        }
+        if (endpoint.startsWith("/search/")) {
+            return RateLimitScheduler.Resource.SEARCH;
+        }
+        return RateLimitScheduler.Resource.CORE;
+    }
+
+    private static void discard(HttpResponse<InputStream> response) {
+        try (InputStream body = response.body()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            // The response is retried; a broken connection is simply not reused
+        }
+    }
+
+    private HttpRequest newRequest(String method, String endpoint, Map<String, Object> body,
+                                   HttpResponseCache.CachedResponse cached) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(urlOf(endpoint)))
+                .timeout(requestTimeout)
+                .header("Accept", "application/vnd.github+json")
+                .header("X-GitHub-Api-Version", API_VERSION);
+        if (token != null) {
+            request.header("Authorization", authorization());
+        }
+
+        if (cached != null && cached.getETag() != null) {
+            request.header("If-None-Match", cached.getETag());
+        } else if (cached != null && cached.getLastModified() != null) {
+            request.header("If-Modified-Since", cached.getLastModified());
+        }
 
         if (body != null) {
-            conn.setDoOutput(true);
-            conn.setRequestProperty("Content-Type", "application/json");
-            String jsonBody = gson.toJson(body);
-            conn.getOutputStream().write(jsonBody.getBytes(StandardCharsets.UTF_8));
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(gson.toJson(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return request.build();
+    }
+
+    /**
+     * Resolves an endpoint against the base URL. On GitHub Enterprise Server the GraphQL API
+     * lives next to the REST API rather than below it.
+     */
+    private String urlOf(String endpoint) {
+        if (GRAPHQL_ENDPOINT.equals(endpoint) && baseUrl.endsWith("/api/v3")) {
+            return baseUrl.substring(0, baseUrl.length() - "/v3".length()) + GRAPHQL_ENDPOINT;
+        }
+        return baseUrl + endpoint;
+    }
+
+    /**
+     * Gets the Authorization header value, or null for anonymous requests.
+     */
+    private String authorization() {
+        return token != null ? "Bearer " + token : null;
+    }
+
+    /**
+     * Decodes the response body directly from the response stream.
+     * Cacheable responses are first written to the cache and decoded from the stored copy;
+     * 304 Not Modified responses are decoded from the cached copy.
+     * The stream is drained before it is closed so the connection can be reused.
+     */
+    private <T> T readResponse(String method, String endpoint, HttpResponse<InputStream> response,
+                               HttpResponseCache.CachedResponse cached, ResponseDecoder<T> decoder) throws IOException {
+        try (InputStream body = response.body()) {
+            T result;
+            if (cached != null && response.statusCode() == 304) {
+                result = decode(method, endpoint, cached.getBody(), cached.getHeaders(response.headers().map()), decoder);
+            } else if (response.statusCode() / 100 != 2) {
+                throw new GitHubApiException(method, endpoint, response.statusCode(),
+                        new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            } else if (isCacheable(method, response)) {
+                try (HttpResponseCache.CachedResponse stored = responseCache.put(baseUrl + endpoint, authorization(),
+                        response.headers().map(), body)) {
+                    result = decode(method, endpoint, stored.getBody(), stored.getHeaders(), decoder);
+                }
+            } else {
+                result = decode(method, endpoint, body, response.headers().map(), decoder);
+            }
+            body.transferTo(OutputStream.nullOutputStream());
+            return result;
+        }
+    }
+
+    private boolean isCacheable(String method, HttpResponse<InputStream> response) {
+        return responseCache != null && "GET".equals(method) && response.statusCode() == 200
+                && (response.headers().firstValue("ETag").isPresent()
+                || response.headers().firstValue("Last-Modified").isPresent());
+    }
+
+    private static <T> T decode(String method, String endpoint, InputStream body, Map<String, List<String>> headers,
+                                ResponseDecoder<T> decoder) throws IOException {
+        if (decoder == null) {
+            return null;
+        }
+        try {
+            return decoder.decode(new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8)), headers);
+        } catch (JsonIOException e) {
+            throw new IOException("Failed to read response of " + method + " " + endpoint, e.getCause());
+        }
+    }
+
+    /**
+     * One page of a listing.
+     *
+     * @param <T> Item type
+     */
+    private static final class Page<T> {
+        private final List<T> items;
+        private final String next;
+
+        private Page(List<T> items, String next) {
+            this.items = items;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Iterates over the items of consecutive pages, requesting each next page as soon as
+     * the previous one arrived.
+     *
+     * @param <T> Item type
+     */
+    private final class PageIterator<T> implements Iterator<T> {
+        private final ResponseDecoder<Page<T>> decoder;
+        private Iterator<T> current;
+        private CompletableFuture<Page<T>> next;
+
+        private PageIterator(Page<T> first, ResponseDecoder<Page<T>> decoder) {
+            this.decoder = decoder;
+            this.current = first.items.iterator();
+            this.next = prefetch(first);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (next == null) {
+                    return false;
+                }
+                Page<T> page;
+                try {
+                    page = next.join();
+                } catch (CompletionException e) {
+                    next = null;
+                    throw new UncheckedIOException(unwrap(e));
+                }
+                current = page.items.iterator();
+                next = prefetch(page);
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        private void close() {
+            if (next != null) {
+                next.cancel(false);
+                next = null;
+            }
+        }
+
+        private CompletableFuture<Page<T>> prefetch(Page<T> page) {
+            return page.next != null ? sendGetRequestAsync(page.next, decoder) : null;
+        }
+    }
+
+    private static void close(HttpResponseCache.CachedResponse cached) {
+        if (cached == null) {
+            return;
+        }
+        try {
+            cached.close();
+        } catch (IOException e) {
+            // Nothing left to read from it
+        }
+    }
+
+    /**
+     * Decodes a JSON response body. The response headers are available for decoders that
+     * need more than the body, such as the pagination links.
+     *
+     * @param <T> Decoded type
+     */
+    @FunctionalInterface
+    private interface ResponseDecoder<T> {
+        T decode(JsonReader reader, Map<String, List<String>> headers) throws IOException;
+    }
+
+    /**
+     * Daemon threads decoding asynchronous responses of clients without a configured decode executor.
+     * Created on first use and shared by all such clients.
+     */
+    private static final class DecodeThreads {
+        private static final AtomicInteger COUNT = new AtomicInteger();
+        private static final Executor EXECUTOR = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "simple-github-decode-" + COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Builder for GitHubRestClient instances.
+     * <p>
+     * Pass the same {@link HttpClient} to several clients to share one connection pool between them.
+     * Connection pool size and keep-alive timeout of the JDK client are process-wide settings,
+     * controlled by the {@code jdk.httpclient.connectionPoolSize} and
+     * {@code jdk.httpclient.keepalive.timeout} system properties. Over HTTP/2 all requests
+     * to GitHub are multiplexed over a single connection.
+     */
+    public static class Builder {
+        private String token;
+        private String baseUrl = API_BASE_URL;
+        private HttpClient httpClient;
+        private HttpClient.Version version = HttpClient.Version.HTTP_2;
+        private Duration connectTimeout = Duration.ofSeconds(10);
+        private Duration requestTimeout = Duration.ofSeconds(30);
+        private Executor executor;
+        private Executor decodeExecutor;
+        private RateLimitScheduler rateLimitScheduler;
+        private HttpResponseCache responseCache;
+        private boolean coalesceRequests = true;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the GitHub access token.
+         * Without a token, requests are sent anonymously and only public data is accessible.
+         *
+         * @param token GitHub personal access token, or null for anonymous access
+         * @return this builder
+         */
+        public Builder token(String token) {
+            this.token = token;
+            return this;
+        }
+
+        /**
+         * Sets the API base URL, for example the API endpoint of a GitHub Enterprise Server.
+         *
+         * @param baseUrl API base URL without a trailing slash
+         * @return this builder
+         */
+        public Builder baseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+            return this;
+        }
+
+        /**
+         * Uses an existing HTTP client instead of creating a new one.
+         * The version, connect timeout and executor settings are ignored in that case.
+         *
+         * @param httpClient HTTP client to send requests with
+         * @return this builder
+         */
+        public Builder httpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        /**
+         * Sets the preferred HTTP version. Defaults to HTTP/2, falling back to HTTP/1.1
+         * if the server doesn't support it.
+         *
+         * @param version Preferred HTTP version
+         * @return this builder
+         */
+        public Builder version(HttpClient.Version version) {
+            this.version = version;
+            return this;
+        }
+
+        /**
+         * Sets the timeout for establishing connections.
+         *
+         * @param connectTimeout Connect timeout
+         * @return this builder
+         */
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the timeout for receiving the response headers of a request.
+         *
+         * @param requestTimeout Request timeout
+         * @return this builder
+         */
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the executor running asynchronous tasks of the HTTP client.
+         *
+         * @param executor Executor for asynchronous requests
+         * @return this builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the executor reading and decoding the responses of asynchronous requests.
+         * Decoding blocks while the body is still arriving, so it never runs on the executor
+         * of the HTTP client. Defaults to a shared pool of daemon threads.
+         *
+         * @param decodeExecutor Executor for decoding responses
+         * @return this builder
+         */
+        public Builder decodeExecutor(Executor decodeExecutor) {
+            this.decodeExecutor = decodeExecutor;
+            return this;
+        }
+
+        /**
+         * Sets the scheduler pacing the requests of the client.
+         * Share one scheduler between all clients using the same token so they draw from one budget.
+         * Defaults to a new scheduler with default pacing.
+         *
+         * @param rateLimitScheduler Rate limit scheduler
+         * @return this builder
+         */
+        public Builder rateLimitScheduler(RateLimitScheduler rateLimitScheduler) {
+            this.rateLimitScheduler = rateLimitScheduler;
+            return this;
+        }
+
+        /**
+         * Enables conditional requests backed by a persistent response cache.
+         * Disabled by default.
+         *
+         * @param responseCache Response cache
+         * @return this builder
+         */
+        public Builder responseCache(HttpResponseCache responseCache) {
+            this.responseCache = responseCache;
+            return this;
+        }
+
+        /**
+         * Sets whether identical GET requests in flight at the same time share one network call
+         * and one decoded result. Enabled by default.
+         *
+         * @param coalesceRequests true to coalesce identical concurrent requests
+         * @return this builder
+         */
+        public Builder coalesceRequests(boolean coalesceRequests) {
+            this.coalesceRequests = coalesceRequests;
+            return this;
+        }
+
+        /**
+         * Creates the client.
+         *
+         * @return new GitHubRestClient
+         */
+        public GitHubRestClient build() {
+            return new GitHubRestClient(this);
         }
 
-        try (InputStream is = conn.getInputStream()) {
-            return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        private HttpClient newHttpClient() {
+            HttpClient.Builder builder = HttpClient.newBuilder()
+                    .version(version)
+                    .connectTimeout(connectTimeout)
+                    .followRedirects(HttpClient.Redirect.NORMAL);
+            if (executor != null) {
+                builder.executor(executor);
+            }
+            return builder.build();
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,405 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Persistent cache of GitHub API responses used for conditional requests.
+ * <p>
+ * Successful GET responses carrying an ETag or Last-Modified header are stored on disk together
+ * with their headers. Later requests for the same URL send the validators along, and a
+ * 304 Not Modified answer is served from the stored copy. GitHub doesn't count such answers
+ * against the primary rate limit, so polling unchanged resources becomes almost free.
+ * <p>
+ * Entries are keyed by URL and Authorization header, so clients using different tokens never
+ * see each other's responses. When the cache grows beyond its maximum size the least recently
+ * used entries are evicted. The cache survives restarts and can be shared by all clients of a
+ * process, but not by several processes at once.
+ */
+public class HttpResponseCache {
+    private static final int MAGIC = 0x53474831;
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxSize;
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    /**
+     * Opens a response cache, picking up entries stored by earlier runs.
+     *
+     * @param directory Directory holding the cached responses, created if missing
+     * @param maxSize Maximum total size of the cached responses in bytes
+     * @throws IOException if the directory cannot be created or read
+     */
+    public HttpResponseCache(Path directory, long maxSize) throws IOException {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.maxSize = maxSize;
+        loadIndex();
+    }
+
+    /**
+     * Gets the stored response for a request.
+     * The returned response holds the cache file open and must be closed.
+     *
+     * @param url Request URL
+     * @param authorization Authorization header of the request, or null
+     * @return The stored response, or null if there is none
+     * @throws IOException if the stored response cannot be read
+     */
+    public CachedResponse get(String url, String authorization) throws IOException {
+        String key = keyOf(url, authorization);
+        synchronized (this) {
+            if (!entries.containsKey(key)) {
+                return null;
+            }
+        }
+        Path file = directory.resolve(key);
+        CachedResponse response;
+        try {
+            response = open(file, url);
+        } catch (NoSuchFileException e) {
+            forget(key);
+            return null;
+        } catch (IOException e) {
+            // Corrupt or written by an incompatible version
+            response = null;
+        }
+        if (response == null) {
+            remove(key);
+            return null;
+        }
+        touch(file);
+        return response;
+    }
+
+    /**
+     * Stores a response, replacing any earlier copy, and returns the stored copy for reading.
+     * The returned response holds the cache file open and must be closed.
+     * Only responses carrying an ETag or Last-Modified header are worth storing.
+     *
+     * @param url Request URL
+     * @param authorization Authorization header of the request, or null
+     * @param headers Response headers
+     * @param body Response body, read to the end but not closed
+     * @return The stored response
+     * @throws IOException if the response cannot be written
+     */
+    public CachedResponse put(String url, String authorization, Map<String, List<String>> headers, InputStream body) throws IOException {
+        String key = keyOf(url, authorization);
+        Path temp = Files.createTempFile(directory, key, TEMP_SUFFIX);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeUTF(url);
+                Map<String, List<String>> stored = storedHeaders(headers);
+                out.writeInt(stored.size());
+                for (Map.Entry<String, List<String>> header : stored.entrySet()) {
+                    out.writeUTF(header.getKey());
+                    out.writeInt(header.getValue().size());
+                    for (String value : header.getValue()) {
+                        out.writeUTF(value);
+                    }
+                }
+                body.transferTo(out);
+            }
+            Files.move(temp, directory.resolve(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Path file = directory.resolve(key);
+        // Opened before eviction, so even a response larger than the whole cache can be read once
+        CachedResponse stored = open(file, url);
+        long entrySize = Files.size(file);
+        synchronized (this) {
+            Long previous = entries.put(key, entrySize);
+            size += entrySize - (previous != null ? previous : 0);
+            evict();
+        }
+        return stored;
+    }
+
+    /**
+     * Removes the stored response for a request.
+     *
+     * @param url Request URL
+     * @param authorization Authorization header of the request, or null
+     * @throws IOException if the stored response cannot be deleted
+     */
+    public void remove(String url, String authorization) throws IOException {
+        remove(keyOf(url, authorization));
+    }
+
+    /**
+     * Removes all stored responses.
+     *
+     * @throws IOException if a stored response cannot be deleted
+     */
+    public void evictAll() throws IOException {
+        List<String> keys;
+        synchronized (this) {
+            keys = new ArrayList<>(entries.keySet());
+        }
+        for (String key : keys) {
+            remove(key);
+        }
+    }
+
+    /**
+     * Gets the directory holding the cached responses.
+     *
+     * @return cache directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Gets the maximum total size of the cached responses.
+     *
+     * @return maximum size in bytes
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the current total size of the cached responses.
+     *
+     * @return size in bytes
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Opens a cache file and reads its headers, leaving the stream positioned at the body.
+     *
+     * @return The stored response, or null if the file belongs to a different URL or format
+     */
+    private static CachedResponse open(Path file, String url) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        try {
+            if (in.readInt() != MAGIC || !url.equals(in.readUTF())) {
+                in.close();
+                return null;
+            }
+            Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            int headerCount = in.readInt();
+            for (int i = 0; i < headerCount; i++) {
+                String name = in.readUTF();
+                int valueCount = in.readInt();
+                List<String> values = new ArrayList<>(valueCount);
+                for (int j = 0; j < valueCount; j++) {
+                    values.add(in.readUTF());
+                }
+                headers.put(name, Collections.unmodifiableList(values));
+            }
+            return new CachedResponse(Collections.unmodifiableMap(headers), in);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private void loadIndex() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                if (file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    // Left behind by an interrupted write
+                    Files.deleteIfExists(file);
+                } else if (Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+        }
+        files.sort(Comparator.comparing(HttpResponseCache::lastModified));
+        synchronized (this) {
+            for (Path file : files) {
+                long entrySize = Files.size(file);
+                entries.put(file.getFileName().toString(), entrySize);
+                size += entrySize;
+            }
+            evict();
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (size > maxSize && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            size -= entry.getValue();
+            eldest.remove();
+            try {
+                Files.deleteIfExists(directory.resolve(entry.getKey()));
+            } catch (IOException e) {
+                // Still open elsewhere on some platforms; it is picked up again on the next start
+            }
+        }
+    }
+
+    private void remove(String key) throws IOException {
+        forget(key);
+        Files.deleteIfExists(directory.resolve(key));
+    }
+
+    private synchronized void forget(String key) {
+        Long entrySize = entries.remove(key);
+        if (entrySize != null) {
+            size -= entrySize;
+        }
+    }
+
+    private static void touch(Path file) {
+        try {
+            // Keeps the eviction order across restarts
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Only affects the eviction order after a restart
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * Drops headers that describe the transfer rather than the content, since the body is
+     * stored decoded and replayed over a different connection.
+     */
+    private static Map<String, List<String>> storedHeaders(Map<String, List<String>> headers) {
+        Map<String, List<String>> stored = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            String name = header.getKey();
+            if (name == null || name.startsWith(":") || name.equalsIgnoreCase("Content-Encoding")
+                    || name.equalsIgnoreCase("Content-Length") || name.equalsIgnoreCase("Transfer-Encoding")
+                    || name.equalsIgnoreCase("Connection")) {
+                continue;
+            }
+            stored.put(name, header.getValue());
+        }
+        return stored;
+    }
+
+    private static String keyOf(String url, String authorization) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(url.getBytes(StandardCharsets.UTF_8));
+            if (authorization != null) {
+                digest.update((byte) '\n');
+                digest.update(authorization.getBytes(StandardCharsets.UTF_8));
+            }
+            StringBuilder key = new StringBuilder(64);
+            for (byte b : digest.digest()) {
+                key.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A stored response. Closing it releases the cache file.
+     */
+    public static final class CachedResponse implements Closeable {
+        private final Map<String, List<String>> headers;
+        private final InputStream body;
+
+        private CachedResponse(Map<String, List<String>> headers, InputStream body) {
+            this.headers = headers;
+            this.body = body;
+        }
+
+        /**
+         * Gets the stored response headers.
+         *
+         * @return case-insensitive map of response headers
+         */
+        public Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+
+        /**
+         * Gets the stored headers updated with the headers of a 304 Not Modified response,
+         * which carry the current rate limit state.
+         *
+         * @param notModifiedHeaders Headers of the 304 response
+         * @return case-insensitive map of response headers
+         */
+        public Map<String, List<String>> getHeaders(Map<String, List<String>> notModifiedHeaders) {
+            Map<String, List<String>> merged = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            merged.putAll(headers);
+            merged.putAll(storedHeaders(notModifiedHeaders));
+            return merged;
+        }
+
+        /**
+         * Gets the ETag of the stored response.
+         *
+         * @return ETag, or null if the response had none
+         */
+        public String getETag() {
+            return header("ETag");
+        }
+
+        /**
+         * Gets the Last-Modified date of the stored response.
+         *
+         * @return Last-Modified header value, or null if the response had none
+         */
+        public String getLastModified() {
+            return header("Last-Modified");
+        }
+
+        /**
+         * Gets the stored response body.
+         *
+         * @return stream of the body bytes
+         */
+        public InputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public void close() throws IOException {
+            body.close();
+        }
+
+        private String header(String name) {
+            List<String> values = headers.get(name);
+            return values == null || values.isEmpty() ? null : values.get(0);
+        }
+    }
+}
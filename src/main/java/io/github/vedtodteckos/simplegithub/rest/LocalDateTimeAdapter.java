@@ -1,25 +1,139 @@
 package io.github.vedtodteckos.simplegithub.rest;
 
-import com.google.gson.*;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 /**
  * Custom Gson type adapter for LocalDateTime serialization and deserialization.
+ * <p>
+ * Values are read straight from the token stream. Timestamps in the form GitHub sends them,
+ * such as {@code 2024-05-01T12:30:00Z}, are parsed by hand; anything else ISO 8601 allows goes
+ * through {@link DateTimeFormatter#ISO_DATE_TIME}. As before, an offset is dropped and the local
+ * date and time are kept.
  */
-public class LocalDateTimeAdapter implements JsonSerializer<LocalDateTime>, JsonDeserializer<LocalDateTime> {
+public class LocalDateTimeAdapter extends TypeAdapter<LocalDateTime> {
     private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
 
     @Override
-    public JsonElement serialize(LocalDateTime src, Type typeOfSrc, JsonSerializationContext context) {
-        return new JsonPrimitive(formatter.format(src));
+    public void write(JsonWriter out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.value(formatter.format(value));
     }
 
     @Override
-    public LocalDateTime deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
-            throws JsonParseException {
-        return LocalDateTime.parse(json.getAsString(), formatter);
+    public LocalDateTime read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return parse(in.nextString());
     }
-} 
\ No newline at end of file
+
+    /**
+     * Parses an ISO 8601 date-time.
+     *
+     * @param text Date-time, with or without an offset
+     * @return The local date and time
+     * @throws java.time.format.DateTimeParseException if the text is not an ISO 8601 date-time
+     */
+    static LocalDateTime parse(String text) {
+        LocalDateTime dateTime = parseFast(text);
+        return dateTime != null ? dateTime : LocalDateTime.parse(text, formatter);
+    }
+
+    /**
+     * Parses {@code yyyy-MM-ddTHH:mm:ss}, optionally followed by up to nine fraction digits and
+     * by {@code Z} or an offset such as {@code +02:00}.
+     *
+     * @return The local date and time, or null if the text needs the full formatter
+     */
+    static LocalDateTime parseFast(String text) {
+        int length = text.length();
+        if (length < 19 || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return null;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        int hour = digits(text, 11, 13);
+        int minute = digits(text, 14, 16);
+        int second = digits(text, 17, 19);
+        if ((year | month | day | hour | minute | second) < 0) {
+            return null;
+        }
+
+        int position = 19;
+        int nano = 0;
+        if (position < length && text.charAt(position) == '.') {
+            int end = position + 1;
+            while (end < length && end - position <= 9 && isDigit(text.charAt(end))) {
+                end++;
+            }
+            int fractionDigits = end - position - 1;
+            if (fractionDigits == 0 || (end < length && isDigit(text.charAt(end)))) {
+                return null;
+            }
+            nano = digits(text, position + 1, end);
+            for (int i = fractionDigits; i < 9; i++) {
+                nano *= 10;
+            }
+            position = end;
+        }
+
+        if (position < length && !isOffset(text, position)) {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+        } catch (DateTimeException e) {
+            // Out of range field; let the formatter produce the error
+            return null;
+        }
+    }
+
+    private static boolean isOffset(String text, int position) {
+        int remaining = text.length() - position;
+        char sign = text.charAt(position);
+        if (remaining == 1) {
+            return sign == 'Z';
+        }
+        if (remaining != 6 || (sign != '+' && sign != '-') || text.charAt(position + 3) != ':') {
+            return false;
+        }
+        int hours = digits(text, position + 1, position + 3);
+        int minutes = digits(text, position + 4, position + 6);
+        return hours >= 0 && minutes >= 0 && minutes <= 59 && hours * 60 + minutes <= 18 * 60;
+    }
+
+    /**
+     * Reads a run of decimal digits.
+     *
+     * @return The value of the digits, or -1 if a character in the range is not a digit
+     */
+    static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,321 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A set of changes to a pull request, applied with as few requests as possible.
+ * <p>
+ * Title, body, base branch and state go into one PATCH request. Label changes take one more
+ * request: adding labels is a single POST, removing a single label is a single DELETE, and any
+ * other removal replaces the whole label set with a single PUT, using the labels returned by
+ * the PATCH or fetched once. Requested reviewers take
+ * one request to add and one to remove. An edit can be applied to many pull requests at once
+ * with {@link GitHubRestClient#editPullRequests(String, String, java.util.Collection, PullRequestEdit)}.
+ * <p>
+ * Replacing the label set is not atomic: a label added by someone else between reading and
+ * replacing the labels is lost.
+ * <p>
+ * Label names are matched ignoring case, as GitHub does. A label the pull request already has
+ * keeps its spelling when it is added again under a different case.
+ */
+public final class PullRequestEdit {
+    private final String title;
+    private final String body;
+    private final String base;
+    private final String state;
+    private final Set<String> labels;
+    private final Set<String> labelsToAdd;
+    private final Set<String> labelsToRemove;
+    private final Set<String> reviewersToAdd;
+    private final Set<String> reviewersToRemove;
+
+    private PullRequestEdit(Builder builder) {
+        this.title = builder.title;
+        this.body = builder.body;
+        this.base = builder.base;
+        this.state = builder.state;
+        this.labels = builder.labels != null ? Collections.unmodifiableSet(new LinkedHashSet<>(builder.labels)) : null;
+        this.labelsToAdd = Collections.unmodifiableSet(new LinkedHashSet<>(builder.labelsToAdd));
+        this.labelsToRemove = Collections.unmodifiableSet(new LinkedHashSet<>(builder.labelsToRemove));
+        this.reviewersToAdd = Collections.unmodifiableSet(new LinkedHashSet<>(builder.reviewersToAdd));
+        this.reviewersToRemove = Collections.unmodifiableSet(new LinkedHashSet<>(builder.reviewersToRemove));
+    }
+
+    /**
+     * Creates a builder for an edit.
+     *
+     * @return new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Checks whether the edit changes nothing.
+     *
+     * @return true if applying the edit makes no request
+     */
+    public boolean isEmpty() {
+        return !hasFields() && !hasLabelChanges() && reviewersToAdd.isEmpty() && reviewersToRemove.isEmpty();
+    }
+
+    boolean hasFields() {
+        return title != null || body != null || base != null || state != null;
+    }
+
+    /**
+     * Gets the fields of the PATCH request.
+     */
+    Map<String, Object> fields() {
+        Map<String, Object> fields = new HashMap<>();
+        if (title != null) {
+            fields.put("title", title);
+        }
+        if (body != null) {
+            fields.put("body", body);
+        }
+        if (base != null) {
+            fields.put("base", base);
+        }
+        if (state != null) {
+            fields.put("state", state);
+        }
+        return fields;
+    }
+
+    boolean hasLabelChanges() {
+        return labels != null || !labelsToAdd.isEmpty() || !labelsToRemove.isEmpty();
+    }
+
+    /**
+     * Checks whether the label changes can only be applied knowing the current labels.
+     */
+    boolean needsCurrentLabels() {
+        return labels == null && !labelsToRemove.isEmpty() && getSingleLabelToRemove() == null;
+    }
+
+    /**
+     * Checks whether the label changes are applied by replacing the label set.
+     */
+    boolean replacesLabels() {
+        return labels != null || !labelsToRemove.isEmpty() && getSingleLabelToRemove() == null;
+    }
+
+    /**
+     * Gets the label to remove if removing it is the only label change.
+     *
+     * @return the label, or null if the label changes take more than one removal
+     */
+    String getSingleLabelToRemove() {
+        return labels == null && labelsToAdd.isEmpty() && labelsToRemove.size() == 1 ? labelsToRemove.iterator().next() : null;
+    }
+
+    Set<String> getLabelsToAdd() {
+        return labelsToAdd;
+    }
+
+    /**
+     * Gets the label set after the edit.
+     *
+     * @param current Current labels, ignored if the edit sets the labels
+     */
+    List<String> labelsAfter(List<String> current) {
+        Map<String, String> result = new LinkedHashMap<>();
+        for (String label : labels != null ? labels : current) {
+            result.putIfAbsent(key(label), label);
+        }
+        labelsToRemove.forEach(label -> result.remove(key(label)));
+        labelsToAdd.forEach(label -> result.putIfAbsent(key(label), label));
+        return new ArrayList<>(result.values());
+    }
+
+    /**
+     * Gets the name under which GitHub matches a label.
+     */
+    private static String key(String label) {
+        return label.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Adds a label to a set, replacing a spelling of it that differs only in case.
+     */
+    private static void put(Set<String> labels, String label) {
+        labels.removeIf(other -> key(other).equals(key(label)));
+        labels.add(label);
+    }
+
+    /**
+     * Removes a label from a set, whatever the case of its spelling.
+     */
+    private static void remove(Set<String> labels, String label) {
+        labels.removeIf(other -> key(other).equals(key(label)));
+    }
+
+    Set<String> getReviewersToAdd() {
+        return reviewersToAdd;
+    }
+
+    Set<String> getReviewersToRemove() {
+        return reviewersToRemove;
+    }
+
+    /**
+     * Builder for pull request edits.
+     * Later calls override earlier ones; adding a label that was marked for removal, or the
+     * other way round, keeps only the last change.
+     */
+    public static final class Builder {
+        private String title;
+        private String body;
+        private String base;
+        private String state;
+        private Set<String> labels;
+        private final Set<String> labelsToAdd = new LinkedHashSet<>();
+        private final Set<String> labelsToRemove = new LinkedHashSet<>();
+        private final Set<String> reviewersToAdd = new LinkedHashSet<>();
+        private final Set<String> reviewersToRemove = new LinkedHashSet<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Sets a new title.
+         *
+         * @param title New title of the pull request
+         * @return this builder
+         */
+        public Builder title(String title) {
+            this.title = title;
+            return this;
+        }
+
+        /**
+         * Sets a new description.
+         *
+         * @param body New description, or an empty string to clear it
+         * @return this builder
+         */
+        public Builder body(String body) {
+            this.body = body;
+            return this;
+        }
+
+        /**
+         * Changes the branch the pull request merges into.
+         *
+         * @param base Name of the new base branch
+         * @return this builder
+         */
+        public Builder base(String base) {
+            this.base = base;
+            return this;
+        }
+
+        /**
+         * Closes the pull request without merging it.
+         *
+         * @return this builder
+         */
+        public Builder close() {
+            this.state = "closed";
+            return this;
+        }
+
+        /**
+         * Reopens a closed pull request.
+         *
+         * @return this builder
+         */
+        public Builder reopen() {
+            this.state = "open";
+            return this;
+        }
+
+        /**
+         * Replaces all labels. Labels added or removed on this builder are applied on top.
+         *
+         * @param labels The complete set of labels
+         * @return this builder
+         */
+        public Builder setLabels(String... labels) {
+            this.labels = new LinkedHashSet<>();
+            for (String label : labels) {
+                put(this.labels, label);
+            }
+            return this;
+        }
+
+        /**
+         * Adds labels, keeping the existing ones.
+         *
+         * @param labels Labels to add
+         * @return this builder
+         */
+        public Builder addLabels(String... labels) {
+            for (String label : labels) {
+                remove(labelsToRemove, label);
+                put(labelsToAdd, label);
+            }
+            return this;
+        }
+
+        /**
+         * Removes labels. Labels the pull request doesn't have are ignored.
+         *
+         * @param labels Labels to remove
+         * @return this builder
+         */
+        public Builder removeLabels(String... labels) {
+            for (String label : labels) {
+                remove(labelsToAdd, label);
+                put(labelsToRemove, label);
+            }
+            return this;
+        }
+
+        /**
+         * Requests reviews from users.
+         *
+         * @param reviewers GitHub usernames of the reviewers
+         * @return this builder
+         */
+        public Builder requestReviewers(String... reviewers) {
+            for (String reviewer : reviewers) {
+                reviewersToRemove.remove(reviewer);
+                reviewersToAdd.add(reviewer);
+            }
+            return this;
+        }
+
+        /**
+         * Withdraws review requests from users.
+         *
+         * @param reviewers GitHub usernames of the reviewers
+         * @return this builder
+         */
+        public Builder removeReviewers(String... reviewers) {
+            for (String reviewer : reviewers) {
+                reviewersToAdd.remove(reviewer);
+                reviewersToRemove.add(reviewer);
+            }
+            return this;
+        }
+
+        /**
+         * Creates the edit.
+         *
+         * @return new PullRequestEdit
+         */
+        public PullRequestEdit build() {
+            return new PullRequestEdit(this);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of editing many pull requests.
+ * Every requested pull request appears either in the succeeded list or in the failures.
+ */
+@Value
+@Builder
+public class PullRequestEditReport {
+    /**
+     * Numbers of the pull requests edited completely, in request order.
+     */
+    List<Integer> succeeded;
+
+    /**
+     * Failure per pull request that could not be edited. Changes made before the failing
+     * request, such as the title before the labels, remain applied.
+     */
+    Map<Integer, IOException> failures;
+
+    /**
+     * Checks whether every pull request was edited.
+     *
+     * @return true if no pull request failed
+     */
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * State of a pull request as shown on a dashboard, fetched together with other pull requests
+ * in a single GraphQL request.
+ * <p>
+ * Review requests, commits and review comments are capped per pull request; {@link #isComplete()}
+ * tells whether everything fit. Use the pull request handler for the full listings of larger
+ * pull requests.
+ */
+@Value
+@Builder
+public class PullRequestSnapshot {
+    int number;
+
+    String title;
+
+    /**
+     * OPEN or CLOSED, as returned by the pull request handler; merged pull requests are CLOSED.
+     */
+    String state;
+
+    boolean merged;
+
+    /**
+     * Logins of the users requested to review.
+     */
+    List<String> requestedReviewers;
+
+    /**
+     * Slugs of the teams requested to review.
+     */
+    List<String> requestedTeams;
+
+    /**
+     * Commit SHA hashes, oldest first.
+     */
+    List<String> commits;
+
+    /**
+     * Number of commits in the pull request, including those not fetched.
+     */
+    int totalCommits;
+
+    List<ReviewComment> reviewComments;
+
+    /**
+     * Whether all review requests, commits and review comments were fetched.
+     */
+    boolean complete;
+
+    /**
+     * A comment made on a specific line of code.
+     */
+    @Value
+    @Builder
+    public static class ReviewComment {
+        long id;
+
+        /**
+         * Login of the author, or null if the account was deleted.
+         */
+        String author;
+
+        String body;
+
+        String path;
+
+        /**
+         * Line position in the diff, or null if the comment is outdated.
+         */
+        Integer position;
+
+        String commitId;
+
+        LocalDateTime createdAt;
+    }
+}
@@ -0,0 +1,179 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GraphQL query fetching a page of open pull requests with everything a dashboard shows,
+ * and the mapping of its result to {@link PullRequestSnapshot}s.
+ * <p>
+ * Nested connections are capped so that a page of 100 pull requests stays well below GitHub's
+ * limit of 500,000 nodes per query.
+ */
+final class PullRequestSnapshotQuery {
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 100;
+
+    static final String QUERY = "query($owner: String!, $name: String!, $pageSize: Int!, $cursor: String) {"
+            + " repository(owner: $owner, name: $name) {"
+            + " pullRequests(states: OPEN, first: $pageSize, after: $cursor, orderBy: {field: CREATED_AT, direction: DESC}) {"
+            + " pageInfo { hasNextPage endCursor }"
+            + " nodes {"
+            + " number title state merged"
+            + " reviewRequests(first: 50) { totalCount nodes { requestedReviewer { ... on User { login } ... on Team { slug } } } }"
+            + " commits(first: 100) { totalCount nodes { commit { oid } } }"
+            + " reviews(first: 50) { totalCount nodes {"
+            + " comments(first: 50) { totalCount nodes { databaseId author { login } body path position commit { oid } createdAt } }"
+            + " } }"
+            + " } } } }";
+
+    private PullRequestSnapshotQuery() {
+    }
+
+    /**
+     * Builds the variables for one page of the query.
+     *
+     * @param cursor End cursor of the previous page, or null for the first page
+     */
+    static Map<String, Object> variables(String owner, String name, int pageSize, String cursor) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ": " + pageSize);
+        }
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("owner", owner);
+        variables.put("name", name);
+        variables.put("pageSize", pageSize);
+        variables.put("cursor", cursor);
+        return variables;
+    }
+
+    /**
+     * Adds the pull requests of a result page to a list.
+     *
+     * @param data The data of the GraphQL response
+     * @param snapshots List the snapshots are added to
+     * @return Cursor of the next page, or null if this was the last page
+     * @throws GitHubApiException if the result lacks the pull request connection or its page info
+     */
+    static String read(JsonObject data, List<PullRequestSnapshot> snapshots) throws GitHubApiException {
+        JsonObject repository = object(data, "repository");
+        if (repository == null) {
+            return null;
+        }
+        JsonObject pullRequests = object(repository, "pullRequests");
+        if (pullRequests == null) {
+            throw incomplete("repository.pullRequests");
+        }
+        JsonObject pageInfo = object(pullRequests, "pageInfo");
+        JsonElement hasNextPage = pageInfo == null ? null : pageInfo.get("hasNextPage");
+        if (hasNextPage == null || !hasNextPage.isJsonPrimitive()) {
+            throw incomplete("repository.pullRequests.pageInfo");
+        }
+        for (JsonElement node : nodes(pullRequests)) {
+            snapshots.add(snapshot(node.getAsJsonObject()));
+        }
+        String endCursor = string(pageInfo, "endCursor");
+        if (hasNextPage.getAsBoolean() && endCursor == null) {
+            throw incomplete("repository.pullRequests.pageInfo.endCursor");
+        }
+        return hasNextPage.getAsBoolean() ? endCursor : null;
+    }
+
+    /**
+     * GitHub returns partial data, with nulls in place of what it could not resolve, when part
+     * of a query fails or times out.
+     */
+    private static GitHubApiException incomplete(String path) {
+        return new GitHubApiException("POST", "/graphql", 200, "Pull request query returned no " + path);
+    }
+
+    private static PullRequestSnapshot snapshot(JsonObject pullRequest) {
+        boolean merged = pullRequest.get("merged").getAsBoolean();
+        String state = pullRequest.get("state").getAsString();
+
+        JsonObject requestConnection = pullRequest.getAsJsonObject("reviewRequests");
+        JsonArray requests = nodes(requestConnection);
+        boolean complete = requests.size() == requestConnection.get("totalCount").getAsInt();
+        List<String> reviewers = new ArrayList<>();
+        List<String> teams = new ArrayList<>();
+        for (JsonElement request : requests) {
+            JsonObject reviewer = object(request.getAsJsonObject(), "requestedReviewer");
+            String login = string(reviewer, "login");
+            String slug = string(reviewer, "slug");
+            if (login != null) {
+                reviewers.add(login);
+            } else if (slug != null) {
+                teams.add(slug);
+            }
+        }
+
+        JsonObject commitConnection = pullRequest.getAsJsonObject("commits");
+        List<String> commits = new ArrayList<>();
+        for (JsonElement commit : nodes(commitConnection)) {
+            commits.add(commit.getAsJsonObject().getAsJsonObject("commit").get("oid").getAsString());
+        }
+        int totalCommits = commitConnection.get("totalCount").getAsInt();
+        complete &= commits.size() == totalCommits;
+
+        JsonObject reviewConnection = pullRequest.getAsJsonObject("reviews");
+        JsonArray reviews = nodes(reviewConnection);
+        complete &= reviews.size() == reviewConnection.get("totalCount").getAsInt();
+        List<PullRequestSnapshot.ReviewComment> comments = new ArrayList<>();
+        for (JsonElement review : reviews) {
+            JsonObject commentConnection = review.getAsJsonObject().getAsJsonObject("comments");
+            JsonArray reviewComments = nodes(commentConnection);
+            complete &= reviewComments.size() == commentConnection.get("totalCount").getAsInt();
+            for (JsonElement comment : reviewComments) {
+                comments.add(reviewComment(comment.getAsJsonObject()));
+            }
+        }
+
+        return PullRequestSnapshot.builder()
+                .number(pullRequest.get("number").getAsInt())
+                .title(string(pullRequest, "title"))
+                .state("OPEN".equals(state) ? "OPEN" : "CLOSED")
+                .merged(merged)
+                .requestedReviewers(reviewers)
+                .requestedTeams(teams)
+                .commits(commits)
+                .totalCommits(totalCommits)
+                .reviewComments(comments)
+                .complete(complete)
+                .build();
+    }
+
+    private static PullRequestSnapshot.ReviewComment reviewComment(JsonObject comment) {
+        JsonElement position = comment.get("position");
+        String createdAt = string(comment, "createdAt");
+        return PullRequestSnapshot.ReviewComment.builder()
+                .id(comment.get("databaseId").getAsLong())
+                .author(string(object(comment, "author"), "login"))
+                .body(string(comment, "body"))
+                .path(string(comment, "path"))
+                .position(position == null || position.isJsonNull() ? null : position.getAsInt())
+                .commitId(string(object(comment, "commit"), "oid"))
+                .createdAt(createdAt != null ? LocalDateTimeAdapter.parse(createdAt) : null)
+                .build();
+    }
+
+    private static JsonArray nodes(JsonObject connection) {
+        JsonElement nodes = connection.get("nodes");
+        return nodes == null || nodes.isJsonNull() ? new JsonArray() : nodes.getAsJsonArray();
+    }
+
+    private static JsonObject object(JsonObject parent, String name) {
+        JsonElement value = parent == null ? null : parent.get(name);
+        return value == null || !value.isJsonObject() ? null : value.getAsJsonObject();
+    }
+
+    private static String string(JsonObject parent, String name) {
+        JsonElement value = parent == null ? null : parent.get(name);
+        return value == null || value.isJsonNull() ? null : value.getAsString();
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of the rate limit budget of one resource category.
+ */
+@Value
+@Builder
+public class RateLimitBudget {
+    RateLimitScheduler.Resource resource;
+
+    /**
+     * Requests allowed per window, or -1 if GitHub hasn't reported it yet.
+     */
+    int limit;
+
+    /**
+     * Requests left in the current window, or -1 if GitHub hasn't reported it yet.
+     */
+    int remaining;
+
+    /**
+     * When the current window resets, or null if unknown.
+     */
+    Instant resetAt;
+
+    /**
+     * Requests currently waiting for budget.
+     */
+    int queuedRequests;
+
+    /**
+     * Requests that had to wait for budget since the scheduler was created.
+     */
+    long throttledRequests;
+}
@@ -0,0 +1,478 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import org.kohsuke.github.GHRateLimit;
+import org.kohsuke.github.GitHubAbuseLimitHandler;
+import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.RateLimitChecker;
+import org.kohsuke.github.RateLimitTarget;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces GitHub API requests so they stay within GitHub's rate limits.
+ * <p>
+ * The scheduler keeps one token bucket per resource category and learns the remaining budget from
+ * the rate limit headers of every response. A request takes a token before it is sent; when no
+ * token is available it waits in line instead of failing. Blocking and asynchronous callers share
+ * one line per bucket, served in arrival order by a single timer. While the budget is healthy, buckets
+ * refill at a fixed rate that keeps clear of GitHub's secondary limits. Once the remaining budget
+ * drops below the low watermark, it is spread evenly over the time left until the window resets.
+ * When the budget is used up, or GitHub asks clients to back off, requests wait until the window
+ * resets or the back-off period ends.
+ * <p>
+ * One scheduler is shared by all transports of a SimpleGitHub instance, so requests made through
+ * the handlers and through {@link GitHubRestClient} draw from the same budget.
+ */
+public class RateLimitScheduler {
+    /**
+     * Back-off applied when GitHub signals a secondary rate limit without a Retry-After header.
+     */
+    private static final Duration DEFAULT_BACK_OFF = Duration.ofSeconds(60);
+
+    private final Map<Resource, Bucket> buckets = new EnumMap<>(Resource.class);
+    private final double lowWatermark;
+
+    /**
+     * Creates a scheduler with default pacing: 15 requests per second for the core and GraphQL
+     * APIs, one request every two seconds for search, and even spreading below 10% of the budget.
+     */
+    public RateLimitScheduler() {
+        this(builder());
+    }
+
+    private RateLimitScheduler(Builder builder) {
+        this.lowWatermark = builder.lowWatermark;
+        for (Resource resource : Resource.values()) {
+            buckets.put(resource, new Bucket(builder.requestsPerSecond.get(resource)));
+        }
+    }
+
+    /**
+     * Creates a builder for configuring the pacing.
+     *
+     * @return new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Waits until a request to the given resource may be sent.
+     * Callers are served in arrival order, together with those of {@link #acquireAsync(Resource)}.
+     *
+     * @param resource Resource category of the request
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void acquire(Resource resource) throws InterruptedException {
+        Bucket bucket = buckets.get(resource);
+        CompletableFuture<Void> acquired = acquireAsync(resource);
+        try {
+            acquired.get();
+        } catch (InterruptedException e) {
+            synchronized (bucket) {
+                // Give up the place in line; a token granted in the meantime is not returned
+                bucket.waiters.remove(acquired);
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            // Waiters are only ever completed normally
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Waits asynchronously until a request to the given resource may be sent.
+     * No thread is blocked while waiting. Callers are served in arrival order, together with
+     * those of {@link #acquire(Resource)}; cancelling the future gives up its place in line.
+     *
+     * @param resource Resource category of the request
+     * @return future completed once the request may be sent
+     */
+    public CompletableFuture<Void> acquireAsync(Resource resource) {
+        Bucket bucket = buckets.get(resource);
+        CompletableFuture<Void> acquired = new CompletableFuture<>();
+        synchronized (bucket) {
+            if (bucket.waiters.isEmpty()) {
+                long delay = tryAcquire(bucket);
+                if (delay == 0) {
+                    acquired.complete(null);
+                    return acquired;
+                }
+                schedule(bucket, delay);
+            }
+            bucket.waiters.add(acquired);
+            bucket.throttled++;
+        }
+        return acquired;
+    }
+
+    /**
+     * Records the rate limit state reported by GitHub.
+     *
+     * @param resource Resource category the state applies to
+     * @param limit Requests allowed per window
+     * @param remaining Requests left in the current window
+     * @param resetEpochSeconds When the current window resets, in seconds since the epoch
+     */
+    public void observe(Resource resource, int limit, int remaining, long resetEpochSeconds) {
+        Bucket bucket = buckets.get(resource);
+        synchronized (bucket) {
+            bucket.limit = limit;
+            bucket.remaining = remaining;
+            bucket.resetEpochSeconds = resetEpochSeconds;
+        }
+    }
+
+    /**
+     * Records the rate limit state from the headers of a response.
+     * Responses without rate limit headers are ignored.
+     *
+     * @param requested Resource category the request was made against
+     * @param headers Response headers
+     */
+    public void observe(Resource requested, Map<String, List<String>> headers) {
+        String limit = header(headers, "X-RateLimit-Limit");
+        String remaining = header(headers, "X-RateLimit-Remaining");
+        String reset = header(headers, "X-RateLimit-Reset");
+        if (limit == null || remaining == null || reset == null) {
+            return;
+        }
+        String resourceName = header(headers, "X-RateLimit-Resource");
+        Resource resource = resourceName != null ? Resource.fromHeader(resourceName) : requested;
+        if (resource == null) {
+            return;
+        }
+        try {
+            observe(resource, Integer.parseInt(limit), Integer.parseInt(remaining), Long.parseLong(reset));
+        } catch (NumberFormatException e) {
+            // Malformed headers carry no usable information
+        }
+    }
+
+    /**
+     * Records a rate limit state unless the bucket already holds a fresher one: a state is taken
+     * if its window resets later, or if it reports fewer remaining requests in the same window.
+     */
+    private void observeIfFresher(Resource resource, int limit, int remaining, long resetEpochSeconds) {
+        Bucket bucket = buckets.get(resource);
+        synchronized (bucket) {
+            if (resetEpochSeconds > bucket.resetEpochSeconds
+                    || resetEpochSeconds == bucket.resetEpochSeconds && remaining < bucket.remaining) {
+                bucket.limit = limit;
+                bucket.remaining = remaining;
+                bucket.resetEpochSeconds = resetEpochSeconds;
+            }
+        }
+    }
+
+    /**
+     * Pauses all requests to a resource, for example after GitHub reported a secondary rate limit.
+     *
+     * @param resource Resource category to pause
+     * @param duration How long to pause
+     */
+    public void backOff(Resource resource, Duration duration) {
+        Bucket bucket = buckets.get(resource);
+        synchronized (bucket) {
+            bucket.pausedUntilMillis = Math.max(bucket.pausedUntilMillis, System.currentTimeMillis() + duration.toMillis());
+        }
+    }
+
+    /**
+     * Pauses all requests to a resource for the period requested by a Retry-After header.
+     *
+     * @param resource Resource category to pause
+     * @param retryAfter Value of the Retry-After header, or null to use the default back-off
+     */
+    public void backOff(Resource resource, String retryAfter) {
+        Duration duration = DEFAULT_BACK_OFF;
+        if (retryAfter != null) {
+            try {
+                duration = Duration.ofSeconds(Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                // GitHub sends delay-seconds; anything else falls back to the default
+            }
+        }
+        backOff(resource, duration);
+    }
+
+    /**
+     * Gets the current budget of a resource category.
+     *
+     * @param resource Resource category
+     * @return Snapshot of the budget
+     */
+    public RateLimitBudget getBudget(Resource resource) {
+        Bucket bucket = buckets.get(resource);
+        synchronized (bucket) {
+            return RateLimitBudget.builder()
+                    .resource(resource)
+                    .limit(bucket.limit)
+                    .remaining(bucket.remaining)
+                    .resetAt(bucket.resetEpochSeconds > 0 ? Instant.ofEpochSecond(bucket.resetEpochSeconds) : null)
+                    .queuedRequests(bucket.waiters.size())
+                    .throttledRequests(bucket.throttled)
+                    .build();
+        }
+    }
+
+    /**
+     * Gets the current budget of all resource categories.
+     *
+     * @return Budget snapshots by resource category
+     */
+    public Map<Resource, RateLimitBudget> getBudgets() {
+        Map<Resource, RateLimitBudget> budgets = new EnumMap<>(Resource.class);
+        for (Resource resource : Resource.values()) {
+            budgets.put(resource, getBudget(resource));
+        }
+        return budgets;
+    }
+
+    /**
+     * Registers this scheduler with a GitHub API library builder, so that requests made through
+     * the library are paced by this scheduler and its secondary rate limit responses pause all requests.
+     *
+     * @param builder Builder of the GitHub API library connection
+     * @return the given builder
+     */
+    public GitHubBuilder configure(GitHubBuilder builder) {
+        return builder
+                .withRateLimitChecker(new Checker(Resource.CORE), RateLimitTarget.CORE)
+                .withRateLimitChecker(new Checker(Resource.SEARCH), RateLimitTarget.SEARCH)
+                .withRateLimitChecker(new Checker(Resource.GRAPHQL), RateLimitTarget.GRAPHQL)
+                .withAbuseLimitHandler(new AbuseLimitHandler());
+    }
+
+    /**
+     * Starts the timer that serves the waiters of a bucket, unless it is already pending.
+     * Must be called while holding the bucket's lock.
+     */
+    private void schedule(Bucket bucket, long delay) {
+        if (!bucket.scheduled) {
+            bucket.scheduled = true;
+            CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> drain(bucket));
+        }
+    }
+
+    /**
+     * Hands out the available tokens to the waiters of a bucket in arrival order,
+     * and schedules the next run while waiters remain.
+     */
+    private void drain(Bucket bucket) {
+        List<CompletableFuture<Void>> granted = new ArrayList<>();
+        synchronized (bucket) {
+            bucket.scheduled = false;
+            while (!bucket.waiters.isEmpty()) {
+                if (bucket.waiters.peek().isDone()) {
+                    // Cancelled by the caller
+                    bucket.waiters.poll();
+                    continue;
+                }
+                long delay = tryAcquire(bucket);
+                if (delay > 0) {
+                    schedule(bucket, delay);
+                    break;
+                }
+                granted.add(bucket.waiters.poll());
+            }
+        }
+        // Outside the lock, as completing runs the callers' dependent stages
+        for (CompletableFuture<Void> acquired : granted) {
+            acquired.complete(null);
+        }
+    }
+
+    /**
+     * Takes a token from the bucket if one is available.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds to wait before trying again
+     */
+    private long tryAcquire(Bucket bucket) {
+        synchronized (bucket) {
+            long nowMillis = System.currentTimeMillis();
+            if (bucket.pausedUntilMillis > nowMillis) {
+                return TimeUnit.MILLISECONDS.toNanos(bucket.pausedUntilMillis - nowMillis);
+            }
+            double rate = bucket.requestsPerSecond;
+            if (bucket.remaining >= 0) {
+                long untilReset = bucket.resetEpochSeconds * 1000 - nowMillis;
+                if (untilReset <= 0) {
+                    bucket.remaining = bucket.limit;
+                } else if (bucket.remaining == 0) {
+                    // Allow for clock skew between this host and GitHub
+                    return TimeUnit.MILLISECONDS.toNanos(untilReset + 1000);
+                } else if (bucket.remaining < bucket.limit * lowWatermark) {
+                    rate = Math.min(rate, bucket.remaining * 1000.0 / untilReset);
+                }
+            }
+
+            long now = System.nanoTime();
+            bucket.tokens = Math.min(bucket.capacity, bucket.tokens + (now - bucket.lastRefill) * rate / 1e9);
+            bucket.lastRefill = now;
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                if (bucket.remaining > 0) {
+                    bucket.remaining--;
+                }
+                return 0;
+            }
+            return Math.max(1, (long) ((1 - bucket.tokens) / rate * 1e9));
+        }
+    }
+
+    private static String header(Map<String, List<String>> headers, String name) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                return header.getValue().get(0);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Rate limit resource categories.
+     */
+    public enum Resource {
+        CORE,
+        SEARCH,
+        GRAPHQL;
+
+        static Resource fromHeader(String name) {
+            switch (name) {
+                case "core":
+                    return CORE;
+                case "search":
+                case "code_search":
+                    return SEARCH;
+                case "graphql":
+                    return GRAPHQL;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * Builder for RateLimitScheduler instances.
+     */
+    public static class Builder {
+        private final Map<Resource, Double> requestsPerSecond = new EnumMap<>(Resource.class);
+        private double lowWatermark = 0.1;
+
+        private Builder() {
+            requestsPerSecond.put(Resource.CORE, 15.0);
+            requestsPerSecond.put(Resource.SEARCH, 0.5);
+            requestsPerSecond.put(Resource.GRAPHQL, 15.0);
+        }
+
+        /**
+         * Sets the sustained request rate of a resource category while its budget is healthy.
+         * The same number of requests may be sent in a burst.
+         *
+         * @param resource Resource category
+         * @param requestsPerSecond Requests per second
+         * @return this builder
+         */
+        public Builder requestsPerSecond(Resource resource, double requestsPerSecond) {
+            if (requestsPerSecond <= 0) {
+                throw new IllegalArgumentException("Request rate must be positive: " + requestsPerSecond);
+            }
+            this.requestsPerSecond.put(resource, requestsPerSecond);
+            return this;
+        }
+
+        /**
+         * Sets the fraction of the budget below which the remaining requests are spread evenly
+         * until the window resets.
+         *
+         * @param lowWatermark Fraction of the limit between 0 and 1
+         * @return this builder
+         */
+        public Builder lowWatermark(double lowWatermark) {
+            if (lowWatermark < 0 || lowWatermark > 1) {
+                throw new IllegalArgumentException("Low watermark must be between 0 and 1: " + lowWatermark);
+            }
+            this.lowWatermark = lowWatermark;
+            return this;
+        }
+
+        /**
+         * Creates the scheduler.
+         *
+         * @return new RateLimitScheduler
+         */
+        public RateLimitScheduler build() {
+            return new RateLimitScheduler(this);
+        }
+    }
+
+    private static final class Bucket {
+        private final double requestsPerSecond;
+        private final double capacity;
+        private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+        private boolean scheduled;
+        private long throttled;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+        private int limit = -1;
+        private int remaining = -1;
+        private long resetEpochSeconds = -1;
+        private long pausedUntilMillis;
+
+        private Bucket(double requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+            this.capacity = Math.max(1, requestsPerSecond);
+            this.tokens = capacity;
+        }
+    }
+
+    /**
+     * Paces requests made through the GitHub API library.
+     * The library reports its latest rate limit record before each request. That record may be
+     * older than the state seen by the REST client, or a placeholder before the library received
+     * any rate limit headers, so it only replaces a staler state.
+     */
+    private final class Checker extends RateLimitChecker {
+        private final Resource resource;
+
+        private Checker(Resource resource) {
+            this.resource = resource;
+        }
+
+        @Override
+        protected boolean checkRateLimit(GHRateLimit.Record rateLimitRecord, long count) throws InterruptedException {
+            if (!(rateLimitRecord instanceof GHRateLimit.UnknownLimitRecord)) {
+                observeIfFresher(resource, rateLimitRecord.getLimit(), rateLimitRecord.getRemaining(),
+                        rateLimitRecord.getResetEpochSeconds());
+            }
+            acquire(resource);
+            // The wait already happened here; returning true would make the library check again
+            return false;
+        }
+    }
+
+    /**
+     * Pauses all core requests when the GitHub API library hits a secondary rate limit,
+     * then waits as the library's default handler does.
+     */
+    private final class AbuseLimitHandler extends GitHubAbuseLimitHandler {
+        @Override
+        public void onError(GitHubConnectorResponse connectorResponse) throws IOException {
+            backOff(Resource.CORE, connectorResponse.header("Retry-After"));
+            GitHubAbuseLimitHandler.WAIT.onError(connectorResponse);
+        }
+    }
+}
@@ -0,0 +1,607 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written streaming adapters for the REST model classes.
+ * <p>
+ * Gson's reflective adapters look up every field and its annotations the first time a type is
+ * used and then decode through field reflection, which dominates short-lived runs. These adapters
+ * read the tokens straight into the Lombok builders. Field handling mirrors the reflective
+ * adapters: unknown names are skipped, JSON null leaves a primitive at its default, and booleans
+ * and numbers are accepted as strings where Gson accepts them.
+ * <p>
+ * A new field on a model needs a matching case in its adapter here.
+ */
+final class RestModelAdapters implements TypeAdapterFactory {
+    private static final LocalDateTimeAdapter DATE_TIME = new LocalDateTimeAdapter();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (rawType == CopilotSeatInfo.class) {
+            return (TypeAdapter<T>) new SeatInfoAdapter();
+        }
+        if (rawType == CopilotUsageMetrics.class) {
+            return (TypeAdapter<T>) new UsageMetricsAdapter();
+        }
+        if (rawType == CopilotUsageMetrics.DailyMetrics.class) {
+            return (TypeAdapter<T>) new DailyMetricsAdapter();
+        }
+        if (rawType == CopilotUserStatus.class) {
+            return (TypeAdapter<T>) new UserStatusAdapter();
+        }
+        if (rawType == CopilotUserStatus.PendingCancellation.class) {
+            return (TypeAdapter<T>) new PendingCancellationAdapter();
+        }
+        if (rawType == CopilotSeat.class) {
+            return (TypeAdapter<T>) new SeatAdapter();
+        }
+        if (rawType == CopilotSeat.Assignee.class) {
+            return (TypeAdapter<T>) new AssigneeAdapter();
+        }
+        if (rawType == WorkflowRun.class) {
+            return (TypeAdapter<T>) new WorkflowRunAdapter();
+        }
+        return null;
+    }
+
+    private static final class SeatInfoAdapter extends TypeAdapter<CopilotSeatInfo> {
+        @Override
+        public void write(JsonWriter out, CopilotSeatInfo value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("seats").value(value.getTotalSeats());
+            out.name("used_seats").value(value.getUsedSeats());
+            out.name("plan_name").value(value.getBillingPlan());
+            out.name("public_code_suggestions").value(value.isPublicCodeSuggestions());
+            out.name("is_business_plan").value(value.isBusinessPlan());
+            out.endObject();
+        }
+
+        @Override
+        public CopilotSeatInfo read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            CopilotSeatInfo.CopilotSeatInfoBuilder seatInfo = CopilotSeatInfo.builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "seats":
+                        seatInfo.totalSeats(nextInt(in));
+                        break;
+                    case "used_seats":
+                        seatInfo.usedSeats(nextInt(in));
+                        break;
+                    case "plan_name":
+                        seatInfo.billingPlan(nextString(in));
+                        break;
+                    case "public_code_suggestions":
+                        seatInfo.publicCodeSuggestions(nextBoolean(in));
+                        break;
+                    case "is_business_plan":
+                        seatInfo.businessPlan(nextBoolean(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return seatInfo.build();
+        }
+    }
+
+    private static final class UsageMetricsAdapter extends TypeAdapter<CopilotUsageMetrics> {
+        private final DailyMetricsAdapter dailyMetrics = new DailyMetricsAdapter();
+
+        @Override
+        public void write(JsonWriter out, CopilotUsageMetrics value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("daily_metrics");
+            if (value.getDailyMetrics() == null) {
+                out.nullValue();
+            } else {
+                out.beginArray();
+                for (CopilotUsageMetrics.DailyMetrics daily : value.getDailyMetrics()) {
+                    dailyMetrics.write(out, daily);
+                }
+                out.endArray();
+            }
+            out.name("total_suggestions_accepted").value(value.getTotalSuggestionsAccepted());
+            out.name("total_lines_accepted").value(value.getTotalLinesAccepted());
+            out.name("acceptance_rate").value(value.getAcceptanceRate());
+            out.endObject();
+        }
+
+        @Override
+        public CopilotUsageMetrics read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            CopilotUsageMetrics.CopilotUsageMetricsBuilder metrics = CopilotUsageMetrics.builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "daily_metrics":
+                        metrics.dailyMetrics(readDailyMetrics(in));
+                        break;
+                    case "total_suggestions_accepted":
+                        metrics.totalSuggestionsAccepted(nextInt(in));
+                        break;
+                    case "total_lines_accepted":
+                        metrics.totalLinesAccepted(nextInt(in));
+                        break;
+                    case "acceptance_rate":
+                        metrics.acceptanceRate(nextDouble(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return metrics.build();
+        }
+
+        private List<CopilotUsageMetrics.DailyMetrics> readDailyMetrics(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            List<CopilotUsageMetrics.DailyMetrics> days = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                days.add(dailyMetrics.read(in));
+            }
+            in.endArray();
+            return days;
+        }
+    }
+
+    private static final class DailyMetricsAdapter extends TypeAdapter<CopilotUsageMetrics.DailyMetrics> {
+        @Override
+        public void write(JsonWriter out, CopilotUsageMetrics.DailyMetrics value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("date");
+            DATE_TIME.write(out, value.getDate());
+            out.name("suggestions_accepted").value(value.getSuggestionsAccepted());
+            out.name("lines_accepted").value(value.getLinesAccepted());
+            out.name("active_users").value(value.getActiveUsers());
+            out.endObject();
+        }
+
+        @Override
+        public CopilotUsageMetrics.DailyMetrics read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            CopilotUsageMetrics.DailyMetrics.DailyMetricsBuilder daily = CopilotUsageMetrics.DailyMetrics.builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "date":
+                        daily.date(DATE_TIME.read(in));
+                        break;
+                    case "suggestions_accepted":
+                        daily.suggestionsAccepted(nextInt(in));
+                        break;
+                    case "lines_accepted":
+                        daily.linesAccepted(nextInt(in));
+                        break;
+                    case "active_users":
+                        daily.activeUsers(nextInt(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return daily.build();
+        }
+    }
+
+    private static final class UserStatusAdapter extends TypeAdapter<CopilotUserStatus> {
+        private final PendingCancellationAdapter pendingCancellation = new PendingCancellationAdapter();
+
+        @Override
+        public void write(JsonWriter out, CopilotUserStatus value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("user_login").value(value.getUsername());
+            out.name("seat_assigned").value(value.isSeatAssigned());
+            out.name("last_activity_date");
+            DATE_TIME.write(out, value.getLastActivityDate());
+            out.name("assignment_date");
+            DATE_TIME.write(out, value.getAssignmentDate());
+            out.name("assigned_by").value(value.getAssignedBy());
+            out.name("pending_cancellation");
+            pendingCancellation.write(out, value.getPendingCancellation());
+            out.endObject();
+        }
+
+        @Override
+        public CopilotUserStatus read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            CopilotUserStatus.CopilotUserStatusBuilder status = CopilotUserStatus.builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "user_login":
+                        status.username(nextString(in));
+                        break;
+                    case "seat_assigned":
+                        status.seatAssigned(nextBoolean(in));
+                        break;
+                    case "last_activity_date":
+                        status.lastActivityDate(DATE_TIME.read(in));
+                        break;
+                    case "assignment_date":
+                        status.assignmentDate(DATE_TIME.read(in));
+                        break;
+                    case "assigned_by":
+                        status.assignedBy(nextString(in));
+                        break;
+                    case "pending_cancellation":
+                        status.pendingCancellation(pendingCancellation.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return status.build();
+        }
+    }
+
+    private static final class PendingCancellationAdapter extends TypeAdapter<CopilotUserStatus.PendingCancellation> {
+        @Override
+        public void write(JsonWriter out, CopilotUserStatus.PendingCancellation value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("effective_date");
+            DATE_TIME.write(out, value.getEffectiveDate());
+            out.name("reason").value(value.getReason());
+            out.endObject();
+        }
+
+        @Override
+        public CopilotUserStatus.PendingCancellation read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            CopilotUserStatus.PendingCancellation.PendingCancellationBuilder cancellation =
+                    CopilotUserStatus.PendingCancellation.builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "effective_date":
+                        cancellation.effectiveDate(DATE_TIME.read(in));
+                        break;
+                    case "reason":
+                        cancellation.reason(nextString(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return cancellation.build();
+        }
+    }
+
+    private static final class SeatAdapter extends TypeAdapter<CopilotSeat> {
+        private final AssigneeAdapter assignee = new AssigneeAdapter();
+
+        @Override
+        public void write(JsonWriter out, CopilotSeat value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("assignee");
+            assignee.write(out, value.getAssignee());
+            out.name("plan_type").value(value.getPlanType());
+            out.name("created_at");
+            DATE_TIME.write(out, value.getCreatedAt());
+            out.name("updated_at");
+            DATE_TIME.write(out, value.getUpdatedAt());
+            out.name("pending_cancellation_date").value(value.getPendingCancellationDate());
+            out.name("last_activity_at");
+            DATE_TIME.write(out, value.getLastActivityAt());
+            out.name("last_activity_editor").value(value.getLastActivityEditor());
+            out.endObject();
+        }
+
+        @Override
+        public CopilotSeat read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            CopilotSeat.CopilotSeatBuilder seat = CopilotSeat.builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "assignee":
+                        seat.assignee(assignee.read(in));
+                        break;
+                    case "plan_type":
+                        seat.planType(nextString(in));
+                        break;
+                    case "created_at":
+                        seat.createdAt(DATE_TIME.read(in));
+                        break;
+                    case "updated_at":
+                        seat.updatedAt(DATE_TIME.read(in));
+                        break;
+                    case "pending_cancellation_date":
+                        seat.pendingCancellationDate(nextString(in));
+                        break;
+                    case "last_activity_at":
+                        seat.lastActivityAt(DATE_TIME.read(in));
+                        break;
+                    case "last_activity_editor":
+                        seat.lastActivityEditor(nextString(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return seat.build();
+        }
+    }
+
+    private static final class AssigneeAdapter extends TypeAdapter<CopilotSeat.Assignee> {
+        @Override
+        public void write(JsonWriter out, CopilotSeat.Assignee value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("login").value(value.getLogin());
+            out.name("id").value(value.getId());
+            out.name("type").value(value.getType());
+            out.endObject();
+        }
+
+        @Override
+        public CopilotSeat.Assignee read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            CopilotSeat.Assignee.AssigneeBuilder assignee = CopilotSeat.Assignee.builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "login":
+                        assignee.login(nextString(in));
+                        break;
+                    case "id":
+                        assignee.id(nextLong(in));
+                        break;
+                    case "type":
+                        assignee.type(nextString(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return assignee.build();
+        }
+    }
+
+    private static final class WorkflowRunAdapter extends TypeAdapter<WorkflowRun> {
+        @Override
+        public void write(JsonWriter out, WorkflowRun value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id").value(value.getId());
+            out.name("name").value(value.getName());
+            out.name("workflow_id").value(value.getWorkflowId());
+            out.name("run_number").value(value.getRunNumber());
+            out.name("run_attempt").value(value.getRunAttempt());
+            out.name("event").value(value.getEvent());
+            out.name("status").value(value.getStatus());
+            out.name("conclusion").value(value.getConclusion());
+            out.name("head_branch").value(value.getHeadBranch());
+            out.name("head_sha").value(value.getHeadSha());
+            out.name("actor");
+            if (value.getActor() == null) {
+                out.nullValue();
+            } else {
+                out.beginObject().name("login").value(value.getActor()).endObject();
+            }
+            out.name("html_url").value(value.getHtmlUrl());
+            out.name("created_at");
+            DATE_TIME.write(out, value.getCreatedAt());
+            out.name("updated_at");
+            DATE_TIME.write(out, value.getUpdatedAt());
+            out.endObject();
+        }
+
+        @Override
+        public WorkflowRun read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            WorkflowRun.WorkflowRunBuilder run = WorkflowRun.builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        run.id(nextLong(in));
+                        break;
+                    case "name":
+                        run.name(nextString(in));
+                        break;
+                    case "workflow_id":
+                        run.workflowId(nextLong(in));
+                        break;
+                    case "run_number":
+                        run.runNumber(nextInt(in));
+                        break;
+                    case "run_attempt":
+                        run.runAttempt(nextInt(in));
+                        break;
+                    case "event":
+                        run.event(nextString(in));
+                        break;
+                    case "status":
+                        run.status(nextString(in));
+                        break;
+                    case "conclusion":
+                        run.conclusion(nextString(in));
+                        break;
+                    case "head_branch":
+                        run.headBranch(nextString(in));
+                        break;
+                    case "head_sha":
+                        run.headSha(nextString(in));
+                        break;
+                    case "actor":
+                        run.actor(nextLogin(in));
+                        break;
+                    case "html_url":
+                        run.htmlUrl(nextString(in));
+                        break;
+                    case "created_at":
+                        run.createdAt(DATE_TIME.read(in));
+                        break;
+                    case "updated_at":
+                        run.updatedAt(DATE_TIME.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return run.build();
+        }
+    }
+
+    /**
+     * Reads the login of a user object, skipping its other fields.
+     */
+    private static String nextLogin(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String login = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            if (in.nextName().equals("login")) {
+                login = nextString(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return login;
+    }
+
+    private static String nextString(JsonReader in) throws IOException {
+        switch (in.peek()) {
+            case NULL:
+                in.nextNull();
+                return null;
+            case BOOLEAN:
+                return Boolean.toString(in.nextBoolean());
+            default:
+                return in.nextString();
+        }
+    }
+
+    private static boolean nextBoolean(JsonReader in) throws IOException {
+        switch (in.peek()) {
+            case NULL:
+                in.nextNull();
+                return false;
+            case STRING:
+                return Boolean.parseBoolean(in.nextString());
+            default:
+                return in.nextBoolean();
+        }
+    }
+
+    private static int nextInt(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static long nextLong(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static double nextDouble(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        try {
+            return in.nextDouble();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical calls that are in flight at the same time.
+ * <p>
+ * The first caller for a key runs the call; callers arriving with the same key before it
+ * completes wait for it and receive the same result or failure. Nothing is kept once the call
+ * has completed, so a later caller always starts a fresh call. Use it only for calls without
+ * side effects, such as GET requests, and only with results that are safe to share.
+ *
+ * @param <K> Key identifying identical calls
+ * @param <V> Result of a call
+ */
+public final class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+
+    /**
+     * Runs a call, or waits for the identical call already in flight.
+     *
+     * @param key Key identifying the call
+     * @param call Call to run if none is in flight for the key
+     * @return Result of the call
+     * @throws IOException if the call fails or the wait is interrupted
+     */
+    public V execute(K key, Call<V> call) throws IOException {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = calls.putIfAbsent(key, flight);
+        if (existing != null) {
+            return await(existing);
+        }
+        V result;
+        try {
+            result = call.call();
+        } catch (IOException | RuntimeException | Error e) {
+            calls.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        // Removed before completing, so callers arriving from now on start a fresh call
+        calls.remove(key, flight);
+        flight.complete(result);
+        return result;
+    }
+
+    /**
+     * Asynchronously runs a call, or joins the identical call already in flight.
+     * Each caller gets its own future, so cancelling one doesn't affect the others.
+     *
+     * @param key Key identifying the call
+     * @param call Starts the call if none is in flight for the key
+     * @return future completed with the result of the call
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = calls.putIfAbsent(key, flight);
+        if (existing != null) {
+            return existing.copy();
+        }
+        CompletableFuture<V> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((result, failure) -> {
+            calls.remove(key, flight);
+            if (failure != null) {
+                flight.completeExceptionally(failure);
+            } else {
+                flight.complete(result);
+            }
+        });
+        return flight.copy();
+    }
+
+    /**
+     * Gets the number of distinct calls currently in flight.
+     *
+     * @return number of calls in flight
+     */
+    public int size() {
+        return calls.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) throws IOException {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an identical request");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw GitHubRestClient.unwrap(cause);
+        }
+    }
+
+    /**
+     * A call that may fail with an I/O error.
+     *
+     * @param <V> Result of the call
+     */
+    @FunctionalInterface
+    public interface Call<V> {
+        /**
+         * Runs the call.
+         *
+         * @return Result of the call
+         * @throws IOException if the call fails
+         */
+        V call() throws IOException;
+    }
+}
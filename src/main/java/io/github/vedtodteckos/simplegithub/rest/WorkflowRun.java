@@ -0,0 +1,62 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import com.google.gson.annotations.SerializedName;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * A run of a GitHub Actions workflow, as listed by the workflow's run listing.
+ */
+@Value
+@Builder
+public class WorkflowRun {
+    long id;
+
+    String name;
+
+    @SerializedName("workflow_id")
+    long workflowId;
+
+    @SerializedName("run_number")
+    int runNumber;
+
+    @SerializedName("run_attempt")
+    int runAttempt;
+
+    /**
+     * Event that triggered the run, e.g. "push" or "workflow_dispatch".
+     */
+    String event;
+
+    /**
+     * Status of the run, e.g. "queued", "in_progress" or "completed".
+     */
+    String status;
+
+    /**
+     * Conclusion of a completed run, e.g. "success" or "failure", or null while the run is not completed.
+     */
+    String conclusion;
+
+    @SerializedName("head_branch")
+    String headBranch;
+
+    @SerializedName("head_sha")
+    String headSha;
+
+    /**
+     * Login of the user who triggered the run.
+     */
+    String actor;
+
+    @SerializedName("html_url")
+    String htmlUrl;
+
+    @SerializedName("created_at")
+    LocalDateTime createdAt;
+
+    @SerializedName("updated_at")
+    LocalDateTime updatedAt;
+}
@@ -0,0 +1,69 @@
+package io.github.vedtodteckos.simplegithub;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Completion of the futures returned by {@link AsyncSimpleGitHub}.
+ */
+class AsyncSimpleGitHubTest {
+    private AsyncSimpleGitHub async;
+
+    @BeforeEach
+    void start() throws IOException {
+        async = SimpleGitHub.builder().token("test-token").maxConcurrency(1).build().async();
+    }
+
+    @Test
+    void completesWithResult() throws Exception {
+        assertEquals("done", async.supply(() -> "done").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void completesWithIOException() {
+        CompletableFuture<Object> future = async.supply(() -> {
+            throw new IOException("Not Found");
+        });
+
+        assertInstanceOf(IOException.class, failure(future));
+    }
+
+    @Test
+    void completesWithError() {
+        CompletableFuture<Object> future = async.supply(() -> {
+            throw new AssertionError("broken");
+        });
+
+        assertInstanceOf(AssertionError.class, failure(future));
+    }
+
+    @Test
+    void releasesPermitAfterError() throws Exception {
+        failure(async.run(() -> {
+            throw new StackOverflowError();
+        }));
+
+        assertEquals("next", async.supply(() -> "next").get(5, TimeUnit.SECONDS));
+    }
+
+    private static Throwable failure(CompletableFuture<?> future) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> {
+            try {
+                future.get(5, TimeUnit.SECONDS);
+            } catch (TimeoutException timeout) {
+                throw new AssertionError("Future did not complete", timeout);
+            }
+        });
+        return e.getCause();
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.vedtodteckos.simplegithub;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Selection of the responses the {@link CoalescingGitHubConnector} shares.
+ */
+class CoalescingGitHubConnectorTest {
+    @ParameterizedTest
+    @ValueSource(strings = {"application/json", "application/vnd.github+json", "application/vnd.github.v3+json",
+            "application/vnd.github.full+json", "Application/JSON"})
+    void sharesJsonResponses(String accept) {
+        assertTrue(CoalescingGitHubConnector.isJson(accept));
+    }
+
+    @Test
+    void sharesResponsesWithoutAcceptHeader() {
+        assertTrue(CoalescingGitHubConnector.isJson(null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"application/vnd.github.raw", "application/vnd.github.raw+json", "application/vnd.github.v3.raw",
+            "application/vnd.github.html+json", "application/vnd.github.diff", "application/octet-stream"})
+    void streamsOtherMediaTypes(String accept) {
+        assertFalse(CoalescingGitHubConnector.isJson(accept));
+    }
+}
@@ -0,0 +1,173 @@
+package io.github.vedtodteckos.simplegithub;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Persistence, lookups and sync points of the {@link IssueIndex}.
+ */
+class IssueIndexTest {
+    private static final Instant T1 = Instant.parse("2024-03-01T10:00:00Z");
+    private static final Instant T2 = Instant.parse("2024-03-02T10:00:00Z");
+    private static final Instant T3 = Instant.parse("2024-03-03T10:00:00Z");
+    private static final Instant T4 = Instant.parse("2024-03-04T10:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reloadsStoredIssues() throws IOException {
+        Path file = directory.resolve("issues.idx");
+        IssueIndex index = new IssueIndex(file);
+        index.apply(List.of(issue(1, "Crash on start", T1), issue(2, "Slow  sync", T2), issue(3, "Typo", T3)), T3);
+        index.update(List.of(issue(2, "Slow sync of labels", T4)));
+        index.remove(3);
+
+        IssueIndex reloaded = new IssueIndex(file);
+
+        assertEquals(2, reloaded.size());
+        assertEquals(T3, reloaded.getSyncedUntil());
+        assertEquals(index.get(1), reloaded.get(1));
+        assertEquals("Slow sync of labels", reloaded.get(2).getTitle());
+        assertEquals(List.of("bug"), reloaded.get(2).getLabels());
+        assertNull(reloaded.get(3));
+        assertFalse(reloaded.containsTitle("Typo"));
+    }
+
+    @Test
+    void findsIssuesByTitle() throws IOException {
+        IssueIndex index = new IssueIndex();
+        index.apply(List.of(issue(1, "Crash on start", T1), issue(2, "Crash  on exit", T1), issue(3, "Start page", T1)), T1);
+
+        assertTrue(index.containsTitle("  crash ON start "));
+        assertEquals(List.of(index.get(2)), index.findByTitle("crash on exit"));
+        assertEquals(List.of(index.get(1), index.get(2)), index.findByTitlePrefix("CRASH on"));
+        assertEquals(List.of(index.get(1), index.get(3)), index.search("start"));
+        assertEquals(List.of(), index.search("-"));
+    }
+
+    @Test
+    void dropsPartialTrailingBlock() throws IOException {
+        Path file = directory.resolve("issues.idx");
+        new IssueIndex(file).apply(List.of(issue(1, "Crash on start", T1)), T1);
+        long complete = Files.size(file);
+        // A block whose length promises more bytes than were written before a crash
+        Files.write(file, ByteBuffer.allocate(6).putInt(40).putShort((short) 1).array(), StandardOpenOption.APPEND);
+
+        IssueIndex reloaded = new IssueIndex(file);
+        assertEquals(1, reloaded.size());
+        assertEquals(complete, Files.size(file));
+
+        reloaded.update(List.of(issue(2, "Slow sync", T2)));
+        assertEquals(2, new IssueIndex(file).size());
+    }
+
+    @Test
+    void startsOverAfterTornHeader() throws IOException {
+        Path file = directory.resolve("issues.idx");
+        Files.write(file, new byte[] {0x53, 0x47, 0x49});
+
+        IssueIndex index = new IssueIndex(file);
+        assertEquals(0, index.size());
+        assertEquals(0, Files.size(file));
+
+        index.apply(List.of(issue(1, "Crash on start", T1)), T1);
+        assertEquals(1, new IssueIndex(file).size());
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path file = directory.resolve("issues.idx");
+        Files.writeString(file, "not an issue index");
+
+        assertThrows(IOException.class, () -> new IssueIndex(file));
+    }
+
+    @Test
+    void compactsOutdatedRecords() throws IOException {
+        Path file = directory.resolve("issues.idx");
+        IssueIndex index = new IssueIndex(file);
+        index.apply(List.of(issue(1, "Crash on start", T1), issue(2, "Slow sync", T1)), T1);
+        long initial = Files.size(file);
+        for (int i = 0; i < 500; i++) {
+            index.update(List.of(issue(1, "Crash on start " + i, T1.plusSeconds(i))));
+        }
+
+        assertTrue(Files.size(file) < 100 * initial, "file holds " + Files.size(file) + " bytes");
+        assertFalse(Files.exists(directory.resolve("issues.idx.tmp")));
+        IssueIndex reloaded = new IssueIndex(file);
+        assertEquals(2, reloaded.size());
+        assertEquals("Crash on start 499", reloaded.get(1).getTitle());
+        assertEquals(T1, reloaded.getSyncedUntil());
+    }
+
+    @Test
+    void syncPointFollowsLatestUpdate() {
+        assertEquals(T3, IssueIndex.syncPoint(List.of(issue(1, "a", T1), issue(2, "b", T2), issue(3, "c", T3)), null));
+        assertEquals(T2, IssueIndex.syncPoint(List.of(), T2));
+    }
+
+    @Test
+    void syncPointStaysBeforeIssueListedTwice() {
+        // Issue 1 was updated while the listing ran; an issue behind its old position may be missing
+        List<IndexedIssue> listed = List.of(issue(1, "a", T1), issue(2, "b", T2), issue(3, "c", T3), issue(1, "a", T4));
+
+        assertEquals(T1, IssueIndex.syncPoint(listed, null));
+    }
+
+    @Test
+    void applyKeepsNewerStateOfConcurrentSync() throws IOException {
+        IssueIndex index = new IssueIndex(directory.resolve("issues.idx"));
+        index.apply(List.of(issue(1, "Crash on exit", T3)), T3);
+
+        // A sync that started earlier finishes last with an older listing
+        assertEquals(1, index.apply(List.of(issue(1, "Crash on start", T1), issue(2, "Slow sync", T2)), T2));
+
+        assertEquals(T3, index.getSyncedUntil());
+        assertEquals("Crash on exit", index.get(1).getTitle());
+        assertEquals("Slow sync", index.get(2).getTitle());
+    }
+
+    @Test
+    void applyKeepsLastRecordOfIssue() throws IOException {
+        IssueIndex index = new IssueIndex();
+
+        assertEquals(1, index.apply(List.of(issue(1, "Crash on start", T1), issue(1, "Crash on exit", T2)), T1));
+        assertEquals("Crash on exit", index.get(1).getTitle());
+        assertEquals(List.of(), index.findByTitle("Crash on start"));
+    }
+
+    @Test
+    void updateIgnoresOlderRecords() throws IOException {
+        IssueIndex index = new IssueIndex();
+        index.update(List.of(issue(1, "Crash on exit", T2)));
+        index.update(List.of(issue(1, "Crash on start", T1)));
+
+        assertEquals("Crash on exit", index.get(1).getTitle());
+    }
+
+    private static IndexedIssue issue(int number, String title, Instant updatedAt) {
+        return IndexedIssue.builder()
+                .number(number)
+                .title(title)
+                .state("OPEN")
+                .labels(List.of("bug"))
+                .pullRequest(false)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,204 @@
+package io.github.vedtodteckos.simplegithub;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Signature checks and index updates of the {@link WebhookReceiver}.
+ */
+class WebhookReceiverTest {
+    private static final String SECRET = "It's a Secret to Everybody";
+    private static final Instant T1 = Instant.parse("2024-03-01T10:00:00Z");
+    private static final Instant T2 = Instant.parse("2024-03-02T10:00:00Z");
+
+    private IssueIndex index;
+    private List<PullRequestEvent> pullRequests;
+    private WebhookReceiver receiver;
+
+    @BeforeEach
+    void start() throws IOException {
+        index = new IssueIndex();
+        pullRequests = new ArrayList<>();
+        receiver = WebhookReceiver.builder(SimpleGitHub.builder().token("test-token").build())
+                .secret(SECRET)
+                .issueIndex("Octo", "Hello", index)
+                .onPullRequest(pullRequests::add)
+                .build();
+    }
+
+    @Test
+    void acceptsSignedDelivery() {
+        byte[] payload = "{\"zen\":\"Keep it logically awesome.\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(204, receiver.handle("ping", sign(SECRET, payload), payload));
+    }
+
+    @Test
+    void rejectsSignatureOfOtherSecret() {
+        byte[] payload = issues("opened", 1, "Crash on start", T1);
+
+        assertEquals(401, receiver.handle("issues", sign("another secret", payload), payload));
+        assertNull(index.get(1));
+    }
+
+    @Test
+    void rejectsSignatureOfOtherPayload() {
+        byte[] payload = issues("opened", 1, "Crash on start", T1);
+
+        assertEquals(401, receiver.handle("issues", sign(SECRET, issues("opened", 1, "Crash on exit", T1)), payload));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "sha256=", "sha256=abc", "sha256=zz", "sha1=0123456789abcdef0123456789abcdef01234567"})
+    void rejectsMalformedSignature(String signature) {
+        byte[] payload = issues("opened", 1, "Crash on start", T1);
+
+        assertEquals(401, receiver.handle("issues", signature, payload));
+    }
+
+    @Test
+    void rejectsSignatureWithoutPrefix() {
+        byte[] payload = issues("opened", 1, "Crash on start", T1);
+
+        assertEquals(401, receiver.handle("issues", sign(SECRET, payload).substring("sha256=".length()), payload));
+        assertEquals(401, receiver.handle("issues", null, payload));
+    }
+
+    @Test
+    void rejectsMalformedPayload() {
+        byte[] notJson = "not json".getBytes(StandardCharsets.UTF_8);
+        byte[] badTimestamp = payload("issue", "opened", 1, "Crash on start", "yesterday");
+
+        assertEquals(400, receiver.handle("issues", sign(SECRET, notJson), notJson));
+        assertEquals(400, receiver.handle(null, sign(SECRET, badTimestamp), badTimestamp));
+        assertEquals(400, receiver.handle("issues", sign(SECRET, badTimestamp), badTimestamp));
+        assertNull(index.get(1));
+    }
+
+    @Test
+    void updatesIssueIndex() {
+        deliver("issues", issues("opened", 1, "Crash on start", T1));
+        deliver("issues", issues("edited", 1, "Crash on exit", T2));
+
+        assertEquals("Crash on exit", index.get(1).getTitle());
+        assertEquals(T2, index.get(1).getUpdatedAt());
+        assertFalse(index.get(1).isPullRequest());
+    }
+
+    @Test
+    void ignoresStaleIssueUpdate() {
+        deliver("issues", issues("edited", 1, "Crash on exit", T2));
+        deliver("issues", issues("opened", 1, "Crash on start", T1));
+
+        assertEquals("Crash on exit", index.get(1).getTitle());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"deleted", "transferred"})
+    void removesIssuesThatLeftRepository(String action) {
+        deliver("issues", issues("opened", 1, "Crash on start", T1));
+        deliver("issues", issues(action, 1, "Crash on start", T2));
+
+        assertNull(index.get(1));
+        assertFalse(index.containsTitle("Crash on start"));
+    }
+
+    @Test
+    void indexesPullRequestsAndNotifiesListeners() {
+        deliver("pull_request", payload("pull_request", "opened", 7, "Add retries", T1.toString()));
+
+        assertTrue(index.get(7).isPullRequest());
+        assertEquals(1, pullRequests.size());
+        assertEquals(7, pullRequests.get(0).getNumber());
+        assertEquals("Add retries", pullRequests.get(0).getTitle());
+        assertEquals(T1, pullRequests.get(0).getUpdatedAt());
+    }
+
+    @Test
+    void ignoresOtherRepositories() {
+        byte[] payload = ("{\"action\":\"opened\",\"repository\":{\"name\":\"other\",\"owner\":{\"login\":\"octo\"}},"
+                + "\"issue\":{\"number\":1,\"title\":\"Crash\",\"state\":\"open\",\"labels\":[],\"updated_at\":\"" + T1 + "\"}}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(204, receiver.handle("issues", sign(SECRET, payload), payload));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void receivesDeliveriesOverHttp() throws IOException, InterruptedException {
+        WebhookReceiver server = WebhookReceiver.builder(SimpleGitHub.builder().token("test-token").build())
+                .secret(SECRET)
+                .address(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))
+                .path("/hooks")
+                .issueIndex("octo", "hello", index)
+                .build();
+        server.start();
+        try {
+            URI uri = URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/hooks");
+            byte[] payload = issues("opened", 1, "Crash on start", T1);
+            HttpClient client = HttpClient.newHttpClient();
+
+            HttpResponse<Void> delivered = client.send(HttpRequest.newBuilder(uri)
+                    .header("X-GitHub-Event", "issues")
+                    .header("X-Hub-Signature-256", sign(SECRET, payload))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(payload))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            HttpResponse<Void> fetched = client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding());
+
+            assertEquals(204, delivered.statusCode());
+            assertEquals("Crash on start", index.get(1).getTitle());
+            assertEquals(405, fetched.statusCode());
+        } finally {
+            server.stop();
+        }
+    }
+
+    private void deliver(String event, byte[] payload) {
+        assertEquals(204, receiver.handle(event, sign(SECRET, payload), payload));
+    }
+
+    private static byte[] issues(String action, int number, String title, Instant updatedAt) {
+        return payload("issue", action, number, title, updatedAt.toString());
+    }
+
+    private static byte[] payload(String field, String action, int number, String title, String updatedAt) {
+        return ("{\"action\":\"" + action + "\","
+                + "\"repository\":{\"name\":\"hello\",\"owner\":{\"login\":\"octo\"}},"
+                + "\"" + field + "\":{\"number\":" + number + ",\"title\":\"" + title + "\",\"state\":\"open\","
+                + "\"labels\":[{\"name\":\"bug\"}],\"updated_at\":\"" + updatedAt + "\"}}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String sign(String secret, byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return "sha256=" + HexFormat.of().formatHex(mac.doFinal(payload));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
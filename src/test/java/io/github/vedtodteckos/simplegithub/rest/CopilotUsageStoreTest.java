@@ -0,0 +1,162 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Incremental syncs and persistence of the {@link CopilotUsageStore}.
+ */
+class CopilotUsageStoreTest {
+    private static final String USAGE = "/orgs/acme/copilot/usage";
+    private static final LocalDate YESTERDAY = LocalDate.now(ZoneOffset.UTC).minusDays(1);
+
+    @TempDir
+    Path directory;
+
+    private StubGitHubServer server;
+    private GitHubRestClient restClient;
+    private Path file;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = StubGitHubServer.start();
+        restClient = GitHubRestClient.builder()
+                .token("test-token")
+                .baseUrl(server.getApiUrl())
+                .build();
+        file = directory.resolve("usage.bin");
+    }
+
+    @AfterEach
+    void stop() {
+        server.close();
+    }
+
+    @Test
+    void reloadsSyncedDays() throws IOException {
+        server.respond(USAGE, usage(day(3, 30), day(2, 20), day(1, 10)));
+        CopilotUsageStore store = new CopilotUsageStore(file);
+
+        assertEquals(3, store.sync(restClient, "acme", YESTERDAY.minusDays(2)));
+
+        CopilotUsageStore reloaded = new CopilotUsageStore(file);
+        assertEquals(3, reloaded.size());
+        assertEquals(YESTERDAY.minusDays(2), reloaded.getFirstDay());
+        assertEquals(YESTERDAY, reloaded.getLastDay());
+        DailyMetricsColumns days = reloaded.getColumns(YESTERDAY.minusDays(2), YESTERDAY);
+        assertArrayEquals(new int[] {30, 20, 10}, days.toArray(DailyMetricsColumns.Metric.SUGGESTIONS_ACCEPTED));
+        assertArrayEquals(new int[] {60, 40, 20}, days.toArray(DailyMetricsColumns.Metric.LINES_ACCEPTED));
+        assertArrayEquals(new int[] {3, 2, 1}, days.toArray(DailyMetricsColumns.Metric.ACTIVE_USERS));
+
+        CopilotUsageSummary summary = reloaded.aggregate(YESTERDAY.minusDays(1), YESTERDAY);
+        assertEquals(2, summary.getDays());
+        assertEquals(30, summary.getTotalSuggestionsAccepted());
+        assertEquals(2, summary.getPeakActiveUsers());
+    }
+
+    @Test
+    void fetchesOnlyDaysAfterLastStoredDay() throws IOException {
+        server.respond(USAGE, usage(day(3, 30), day(2, 20)));
+        CopilotUsageStore store = new CopilotUsageStore(file);
+        assertEquals(2, store.sync(restClient, "acme", YESTERDAY.minusDays(2)));
+
+        // The response overlaps the stored days, which must not be stored twice
+        server.respond(USAGE, usage(day(3, 99), day(2, 99), day(1, 10)));
+        assertEquals(1, store.sync(restClient, "acme", YESTERDAY.minusDays(2)));
+        assertEquals(0, store.sync(restClient, "acme", YESTERDAY.minusDays(2)));
+
+        List<String> requests = server.getRequests();
+        assertEquals(2, requests.size());
+        assertTrue(requests.get(1).contains("start_date=" + YESTERDAY + "T00%3A00"), requests.get(1));
+        CopilotUsageStore reloaded = new CopilotUsageStore(file);
+        assertArrayEquals(new int[] {30, 20, 10},
+                reloaded.getColumns(YESTERDAY.minusDays(2), YESTERDAY).toArray(DailyMetricsColumns.Metric.SUGGESTIONS_ACCEPTED));
+    }
+
+    @Test
+    void keepsRequestedDaysOnceInOrder() throws IOException {
+        // Days outside the range, today's incomplete numbers, a repeated day and an unsorted response
+        server.respond(USAGE, usage(day(0, 50), day(1, 10), day(5, 90), day(3, 30), day(2, 20), day(3, 31)));
+        CopilotUsageStore store = new CopilotUsageStore(file);
+
+        assertEquals(3, store.sync(restClient, "acme", YESTERDAY.minusDays(2)));
+
+        assertEquals(YESTERDAY.minusDays(2), store.getFirstDay());
+        assertEquals(YESTERDAY, store.getLastDay());
+        assertArrayEquals(new int[] {31, 20, 10},
+                store.getColumns(YESTERDAY.minusDays(5), YESTERDAY.plusDays(1)).toArray(DailyMetricsColumns.Metric.SUGGESTIONS_ACCEPTED));
+    }
+
+    @Test
+    void skipsEmptyResponse() throws IOException {
+        server.respond(USAGE, usage());
+        CopilotUsageStore store = new CopilotUsageStore(file);
+
+        assertEquals(0, store.sync(restClient, "acme", YESTERDAY.minusDays(2)));
+        assertNull(store.getLastDay());
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void startsOverAfterTornHeader() throws IOException {
+        Files.write(file, new byte[] {0x53, 0x47, 0x43, 0x55, 0});
+        CopilotUsageStore store = new CopilotUsageStore(file);
+        assertEquals(0, store.size());
+        assertEquals(0, Files.size(file));
+
+        server.respond(USAGE, usage(day(1, 10)));
+        assertEquals(1, store.sync(restClient, "acme", YESTERDAY));
+        assertEquals(1, new CopilotUsageStore(file).size());
+    }
+
+    @Test
+    void dropsPartialTrailingBlock() throws IOException {
+        server.respond(USAGE, usage(day(2, 20), day(1, 10)));
+        new CopilotUsageStore(file).sync(restClient, "acme", YESTERDAY.minusDays(1));
+        long complete = Files.size(file);
+        // A block announcing two days of which only the first value was written
+        Files.write(file, new byte[] {0, 0, 0, 2, 0, 0, 0, 1}, StandardOpenOption.APPEND);
+
+        CopilotUsageStore reloaded = new CopilotUsageStore(file);
+        assertEquals(2, reloaded.size());
+        assertEquals(complete, Files.size(file));
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Files.writeString(file, "not a usage store");
+
+        assertThrows(IOException.class, () -> new CopilotUsageStore(file));
+    }
+
+    /**
+     * Creates the daily metrics of a day the given number of days before today.
+     */
+    private static String day(int daysAgo, int suggestionsAccepted) {
+        return "{\"date\":\"" + LocalDate.now(ZoneOffset.UTC).minusDays(daysAgo) + "T00:00:00\","
+                + "\"suggestions_accepted\":" + suggestionsAccepted + ","
+                + "\"lines_accepted\":" + 2 * suggestionsAccepted + ","
+                + "\"active_users\":" + suggestionsAccepted / 10 + "}";
+    }
+
+    private static String usage(String... days) {
+        return "{\"daily_metrics\":[" + String.join(",", days) + "],\"total_suggestions_accepted\":0}";
+    }
+}
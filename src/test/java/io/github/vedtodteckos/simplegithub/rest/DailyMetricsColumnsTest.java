@@ -0,0 +1,82 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Day arithmetic of {@link DailyMetricsColumns}, checked against {@link LocalDate}.
+ */
+class DailyMetricsColumnsTest {
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "1970-01-01T00:00:00Z",
+            "1969-12-31T23:59:59Z",
+            "2024-05-01T00:00:00Z",
+            "2024-02-29T00:00:00Z",
+            "2000-02-29T00:00:00Z",
+            "2023-03-01T00:00:00Z",
+            "2024-12-31T00:00:00.000Z",
+            "0000-01-01T00:00:00Z",
+            "9999-12-31T00:00:00Z",
+            "2024-05-01"
+    })
+    void parsesDays(String timestamp) {
+        assertEquals(LocalDate.parse(timestamp.substring(0, 10)).toEpochDay(), DailyMetricsColumns.parseEpochDay(timestamp));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "+12024-05-01T00:00:00Z",
+            "-0001-05-01T00:00:00Z",
+            "-0400-02-29T00:00:00Z"
+    })
+    void parsesOtherYearsThroughFormatter(String timestamp) {
+        assertEquals(LocalDateTime.parse(timestamp, DateTimeFormatter.ISO_DATE_TIME).toLocalDate().toEpochDay(),
+                DailyMetricsColumns.parseEpochDay(timestamp));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2023-02-29T00:00:00Z",
+            "1900-02-29T00:00:00Z",
+            "2024-04-31T00:00:00Z",
+            "2024-00-10T00:00:00Z",
+            "2024-13-01T00:00:00Z",
+            "2024-01-00T00:00:00Z",
+            "2024-01-32T00:00:00Z",
+            "-001-01-01",
+            "2024/05/01",
+            "2024-05"
+    })
+    void rejectsInvalidDays(String timestamp) {
+        assertThrows(DateTimeParseException.class, () -> DailyMetricsColumns.parseEpochDay(timestamp));
+    }
+
+    @Test
+    void countsDaysLikeLocalDate() {
+        for (LocalDate date = LocalDate.of(-2001, 1, 1); date.getYear() <= 2401; date = date.plusDays(1)) {
+            assertEquals(date.toEpochDay(), DailyMetricsColumns.epochDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth()),
+                    date.toString());
+        }
+    }
+
+    @Test
+    void countsDaysOfExtremeYears() {
+        for (int year : new int[] {-999_999, -100_001, -400, -100, -4, -1, 0, 1, 99_999, 999_999}) {
+            for (int month = 1; month <= 12; month++) {
+                LocalDate date = YearMonth.of(year, month).atEndOfMonth();
+                assertEquals(date.toEpochDay(), DailyMetricsColumns.epochDay(year, month, date.getDayOfMonth()), date.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Parsing of the {@link LocalDateTimeAdapter}, checked against {@link DateTimeFormatter#ISO_DATE_TIME}.
+ */
+class LocalDateTimeAdapterTest {
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2024-05-01T12:30:00",
+            "2024-05-01T12:30:00Z",
+            "2024-02-29T23:59:59Z",
+            "0001-01-01T00:00:00Z",
+            "9999-12-31T23:59:59Z",
+            "2024-05-01T12:30:00.1Z",
+            "2024-05-01T12:30:00.12Z",
+            "2024-05-01T12:30:00.123Z",
+            "2024-05-01T12:30:00.1234",
+            "2024-05-01T12:30:00.12345Z",
+            "2024-05-01T12:30:00.123456Z",
+            "2024-05-01T12:30:00.1234567Z",
+            "2024-05-01T12:30:00.12345678Z",
+            "2024-05-01T12:30:00.123456789Z",
+            "2024-05-01T12:30:00.000000001Z",
+            "2024-05-01T12:30:00+02:00",
+            "2024-05-01T12:30:00-07:30",
+            "2024-05-01T12:30:00.5+18:00",
+            "2024-05-01T12:30:00-18:00",
+            "2024-05-01T12:30:00+00:00"
+    })
+    void parsesGitHubTimestampsDirectly(String text) {
+        assertNotNull(LocalDateTimeAdapter.parseFast(text), text);
+        assertEquals(LocalDateTime.parse(text, DateTimeFormatter.ISO_DATE_TIME), LocalDateTimeAdapter.parse(text));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2024-05-01T12:30",
+            "2024-05-01T12:30Z",
+            "2024-05-01T12:30:00.Z",
+            "2024-05-01T12:30:00z",
+            "2024-05-01T12:30:00+02:00:30",
+            "2024-05-01T12:30:00Z[UTC]",
+            "2024-05-01T12:30:00+01:00[Europe/Paris]",
+            "+12024-05-01T12:30:00Z",
+            "-0001-05-01T12:30:00Z"
+    })
+    void leavesOtherFormsToFormatter(String text) {
+        assertNull(LocalDateTimeAdapter.parseFast(text), text);
+        assertEquals(LocalDateTime.parse(text, DateTimeFormatter.ISO_DATE_TIME), LocalDateTimeAdapter.parse(text));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "2024-05-01",
+            "2024-05-01 12:30:00Z",
+            "2024-13-01T12:30:00Z",
+            "2023-02-29T12:30:00Z",
+            "2024-05-01T24:00:00Z",
+            "2024-05-01T12:60:00Z",
+            "2024-05-01T12:30:60Z",
+            "2024-05-01T12:30:00.1234567890Z",
+            "2024-05-01T12:30:00+18:01",
+            "2024-05-01T12:30:00+02:60",
+            "2024-05-01T12:30:00+02",
+            "2024-05-01T12:30:00+0200",
+            "2024-05-01T12:30:00ZZ",
+            "2024-5-01T12:30:00Z",
+            "2024-05-01T12:3a:00Z"
+    })
+    void rejectsWhatFormatterRejects(String text) {
+        assertNull(LocalDateTimeAdapter.parseFast(text), text);
+        assertThrows(DateTimeParseException.class, () -> LocalDateTime.parse(text, DateTimeFormatter.ISO_DATE_TIME));
+        assertThrows(DateTimeParseException.class, () -> LocalDateTimeAdapter.parse(text));
+    }
+
+    @Test
+    void roundTripsThroughGson() {
+        Gson gson = new GsonBuilder().registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter()).create();
+        LocalDateTime dateTime = LocalDateTime.of(2024, 5, 1, 12, 30, 0, 120_000_000);
+
+        assertEquals("\"2024-05-01T12:30:00.12\"", gson.toJson(dateTime));
+        assertEquals(dateTime, gson.fromJson("\"2024-05-01T12:30:00.12Z\"", LocalDateTime.class));
+        assertNull(gson.fromJson("null", LocalDateTime.class));
+    }
+}
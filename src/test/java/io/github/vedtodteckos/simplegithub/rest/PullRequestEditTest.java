@@ -0,0 +1,142 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Label planning of {@link PullRequestEdit} and the requests that apply it.
+ */
+class PullRequestEditTest {
+    private static final String LABELS = "/repos/octo/hello/issues/1/labels";
+
+    private StubGitHubServer server;
+    private GitHubRestClient restClient;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = StubGitHubServer.start();
+        restClient = GitHubRestClient.builder()
+                .token("test-token")
+                .baseUrl(server.getApiUrl())
+                .build();
+    }
+
+    @AfterEach
+    void stop() {
+        server.close();
+    }
+
+    @Test
+    void addsLabelsWithoutCurrentLabels() {
+        PullRequestEdit edit = PullRequestEdit.builder().addLabels("bug", "ui").build();
+
+        assertNull(edit.getSingleLabelToRemove());
+        assertFalse(edit.needsCurrentLabels());
+        assertFalse(edit.replacesLabels());
+        assertEquals(Set.of("bug", "ui"), edit.getLabelsToAdd());
+    }
+
+    @Test
+    void removesSingleLabelDirectly() {
+        PullRequestEdit edit = PullRequestEdit.builder().removeLabels("bug").build();
+
+        assertEquals("bug", edit.getSingleLabelToRemove());
+        assertFalse(edit.needsCurrentLabels());
+        assertFalse(edit.replacesLabels());
+    }
+
+    @Test
+    void replacesLabelsToRemoveSeveral() {
+        PullRequestEdit edit = PullRequestEdit.builder().removeLabels("bug", "ui").build();
+
+        assertNull(edit.getSingleLabelToRemove());
+        assertTrue(edit.needsCurrentLabels());
+        assertTrue(edit.replacesLabels());
+        assertEquals(List.of("docs"), edit.labelsAfter(List.of("Bug", "docs", "UI")));
+    }
+
+    @Test
+    void replacesLabelsToAddAndRemove() {
+        PullRequestEdit edit = PullRequestEdit.builder().addLabels("ready").removeLabels("wip").build();
+
+        assertNull(edit.getSingleLabelToRemove());
+        assertTrue(edit.needsCurrentLabels());
+        assertEquals(List.of("bug", "ready"), edit.labelsAfter(List.of("bug", "WIP")));
+    }
+
+    @Test
+    void setsLabelsWithoutCurrentLabels() {
+        PullRequestEdit edit = PullRequestEdit.builder().setLabels("bug", "Bug", "ui").removeLabels("UI").addLabels("docs").build();
+
+        assertNull(edit.getSingleLabelToRemove());
+        assertFalse(edit.needsCurrentLabels());
+        assertTrue(edit.replacesLabels());
+        assertEquals(List.of("Bug", "docs"), edit.labelsAfter(List.of("wip")));
+    }
+
+    @Test
+    void keepsSpellingOfExistingLabel() {
+        PullRequestEdit edit = PullRequestEdit.builder().addLabels("BUG").removeLabels("wip").build();
+
+        assertEquals(List.of("bug"), edit.labelsAfter(List.of("bug", "wip")));
+    }
+
+    @Test
+    void keepsLastChangeOfLabelIgnoringCase() {
+        PullRequestEdit removed = PullRequestEdit.builder().addLabels("Bug").removeLabels("bug").build();
+        PullRequestEdit added = PullRequestEdit.builder().removeLabels("bug").addLabels("Bug").build();
+
+        assertEquals("bug", removed.getSingleLabelToRemove());
+        assertEquals(Set.of("Bug"), added.getLabelsToAdd());
+        assertFalse(added.replacesLabels());
+        assertFalse(added.needsCurrentLabels());
+    }
+
+    @Test
+    void addsLabelOnceIgnoringCase() {
+        PullRequestEdit edit = PullRequestEdit.builder().addLabels("bug", "BUG").build();
+
+        assertEquals(Set.of("BUG"), edit.getLabelsToAdd());
+    }
+
+    @Test
+    void ignoresMissingLabel() throws IOException {
+        server.respond(LABELS + "/needs%20review", 404, "{\"message\":\"Label does not exist\"}");
+
+        restClient.editPullRequest("octo", "hello", 1, PullRequestEdit.builder().removeLabels("needs review").build());
+
+        assertEquals(List.of("DELETE " + LABELS + "/needs%20review"), server.getRequests());
+    }
+
+    @Test
+    void reportsOtherLabelFailures() {
+        server.respond(LABELS + "/bug", 422, "{\"message\":\"Validation Failed\"}");
+
+        GitHubApiException e = assertThrows(GitHubApiException.class,
+                () -> restClient.editPullRequest("octo", "hello", 1, PullRequestEdit.builder().removeLabels("bug").build()));
+        assertEquals(422, e.getStatusCode());
+    }
+
+    @Test
+    void replacesLabelsFetchedOnce() throws IOException {
+        server.respond(LABELS, "[{\"name\":\"Bug\"},{\"name\":\"wip\"}]");
+
+        restClient.editPullRequest("octo", "hello", 1, PullRequestEdit.builder().removeLabels("bug", "docs").addLabels("WIP", "ready").build());
+
+        List<String> requests = server.getRequests();
+        assertEquals(2, requests.size());
+        assertTrue(requests.get(0).startsWith("GET " + LABELS + "?per_page="), requests.get(0));
+        assertEquals("PUT " + LABELS, requests.get(1));
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Maps a recorded GraphQL dashboard response of 30 open pull requests to {@link PullRequestSnapshot}s.
+ */
+class PullRequestSnapshotTest {
+    private static final String OWNER = "octo";
+    private static final String REPOSITORY = "hello";
+
+    private StubGitHubServer server;
+    private GitHubRestClient restClient;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = StubGitHubServer.start();
+        server.respond("/graphql", StubGitHubServer.fixture("graphql-pulls"));
+        restClient = GitHubRestClient.builder()
+                .token("test-token")
+                .baseUrl(server.getApiUrl())
+                .build();
+    }
+
+    @AfterEach
+    void stop() {
+        server.close();
+    }
+
+    @Test
+    void mapsOpenPullRequests() throws IOException {
+        List<PullRequestSnapshot> snapshots = restClient.getOpenPullRequestSnapshots(OWNER, REPOSITORY);
+
+        assertEquals(30, snapshots.size());
+        PullRequestSnapshot first = snapshots.get(0);
+        assertEquals(27, first.getNumber());
+        assertEquals("Change 27", first.getTitle());
+        assertEquals("OPEN", first.getState());
+        assertFalse(first.isMerged());
+        assertEquals(List.of("dev0", "dev1"), first.getRequestedReviewers());
+        assertEquals(100, first.getTotalCommits());
+        assertEquals(100, first.getCommits().size());
+        assertEquals("ec0b4f0b5c90ed0fa911a2972ccc452641b31563", first.getCommits().get(0));
+        assertTrue(first.isComplete());
+    }
+
+    @Test
+    void mapsReviewComments() throws IOException {
+        PullRequestSnapshot first = restClient.getOpenPullRequestSnapshots(OWNER, REPOSITORY).get(0);
+
+        assertEquals(4, first.getReviewComments().size());
+        PullRequestSnapshot.ReviewComment comment = first.getReviewComments().get(0);
+        assertEquals(700001, comment.getId());
+        assertEquals("dev2", comment.getAuthor());
+        assertEquals("Review note 1: consider extracting this.", comment.getBody());
+        assertEquals("src/main/java/Service1.java", comment.getPath());
+        assertEquals(4, comment.getPosition());
+        assertEquals("d97797e060fd76ab77b26ae2b2fbe82cda886466", comment.getCommitId());
+        assertEquals(LocalDateTime.of(2024, 4, 2, 10, 0), comment.getCreatedAt());
+    }
+
+    @Test
+    void mapsTeamReviewRequests() throws IOException {
+        server.respond("/graphql", pullRequest("{\"totalCount\":2,\"nodes\":["
+                + "{\"requestedReviewer\":{\"login\":\"dev0\"}},{\"requestedReviewer\":{\"slug\":\"core\"}}]}"));
+
+        PullRequestSnapshot snapshot = restClient.getOpenPullRequestSnapshots(OWNER, REPOSITORY).get(0);
+
+        assertEquals(List.of("dev0"), snapshot.getRequestedReviewers());
+        assertEquals(List.of("core"), snapshot.getRequestedTeams());
+        assertTrue(snapshot.isComplete());
+    }
+
+    @Test
+    void flagsCappedReviewRequests() throws IOException {
+        server.respond("/graphql", pullRequest("{\"totalCount\":51,\"nodes\":[{\"requestedReviewer\":{\"login\":\"dev0\"}}]}"));
+
+        assertFalse(restClient.getOpenPullRequestSnapshots(OWNER, REPOSITORY).get(0).isComplete());
+    }
+
+    @Test
+    void asyncMatchesBlocking() throws IOException {
+        assertEquals(restClient.getOpenPullRequestSnapshots(OWNER, REPOSITORY),
+                restClient.getOpenPullRequestSnapshotsAsync(OWNER, REPOSITORY).join());
+    }
+
+    @Test
+    void rejectsMissingPullRequestConnection() {
+        server.respond("/graphql", "{\"data\":{\"repository\":{\"pullRequests\":null}}}");
+
+        assertThrows(GitHubApiException.class, () -> restClient.getOpenPullRequestSnapshots(OWNER, REPOSITORY));
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> restClient.getOpenPullRequestSnapshotsAsync(OWNER, REPOSITORY).join());
+        assertInstanceOf(GitHubApiException.class, failure.getCause());
+    }
+
+    @Test
+    void rejectsMissingPageInfo() {
+        server.respond("/graphql", "{\"data\":{\"repository\":{\"pullRequests\":{\"nodes\":[]}}}}");
+
+        assertThrows(GitHubApiException.class, () -> restClient.getOpenPullRequestSnapshots(OWNER, REPOSITORY));
+    }
+
+    private static String pullRequest(String reviewRequests) {
+        return "{\"data\":{\"repository\":{\"pullRequests\":{\"pageInfo\":{\"hasNextPage\":false,\"endCursor\":null},"
+                + "\"nodes\":[{\"number\":1,\"title\":\"Change\",\"state\":\"OPEN\",\"merged\":false,"
+                + "\"reviewRequests\":" + reviewRequests + ","
+                + "\"commits\":{\"totalCount\":0,\"nodes\":[]},\"reviews\":{\"totalCount\":0,\"nodes\":[]}}]}}}}";
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pacing and waiting order of the {@link RateLimitScheduler}.
+ */
+class RateLimitSchedulerTest {
+    private static final RateLimitScheduler.Resource CORE = RateLimitScheduler.Resource.CORE;
+
+    @Test
+    void sendsBurstWithoutWaiting() {
+        RateLimitScheduler scheduler = RateLimitScheduler.builder().requestsPerSecond(CORE, 5).build();
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(scheduler.acquireAsync(CORE).isDone());
+        }
+        assertFalse(scheduler.acquireAsync(CORE).isDone());
+        assertEquals(1, scheduler.getBudget(CORE).getThrottledRequests());
+    }
+
+    @Test
+    void servesBlockingAndAsyncCallersInArrivalOrder() throws Exception {
+        RateLimitScheduler scheduler = RateLimitScheduler.builder().requestsPerSecond(CORE, 10).build();
+        for (int i = 0; i < 10; i++) {
+            scheduler.acquire(CORE);
+        }
+        List<String> served = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture<Void> first = scheduler.acquireAsync(CORE).thenRun(() -> served.add("first"));
+        Thread blocking = new Thread(() -> {
+            try {
+                scheduler.acquire(CORE);
+                served.add("blocking");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        blocking.start();
+        awaitQueued(scheduler, 2);
+        CompletableFuture<Void> last = scheduler.acquireAsync(CORE).thenRun(() -> served.add("last"));
+
+        last.get(5, TimeUnit.SECONDS);
+        first.get(5, TimeUnit.SECONDS);
+        blocking.join(5000);
+
+        assertEquals(List.of("first", "blocking", "last"), served);
+        assertEquals(0, scheduler.getBudget(CORE).getQueuedRequests());
+        assertEquals(3, scheduler.getBudget(CORE).getThrottledRequests());
+    }
+
+    @Test
+    void interruptedCallerLeavesLine() throws Exception {
+        RateLimitScheduler scheduler = new RateLimitScheduler();
+        scheduler.backOff(CORE, Duration.ofHours(1));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread blocking = new Thread(() -> {
+            try {
+                scheduler.acquire(CORE);
+            } catch (InterruptedException e) {
+                failure.set(e);
+            }
+        });
+        blocking.start();
+        awaitQueued(scheduler, 1);
+
+        blocking.interrupt();
+        blocking.join(5000);
+
+        assertInstanceOf(InterruptedException.class, failure.get());
+        assertEquals(0, scheduler.getBudget(CORE).getQueuedRequests());
+    }
+
+    @Test
+    void cancelledWaiterGivesUpItsTurn() throws Exception {
+        RateLimitScheduler scheduler = RateLimitScheduler.builder().requestsPerSecond(CORE, 2).build();
+        for (int i = 0; i < 2; i++) {
+            scheduler.acquire(CORE);
+        }
+
+        CompletableFuture<Void> cancelled = scheduler.acquireAsync(CORE);
+        CompletableFuture<Void> next = scheduler.acquireAsync(CORE);
+        cancelled.cancel(false);
+
+        // The token refilled after 500 ms goes to the next waiter instead of the cancelled one
+        next.get(800, TimeUnit.MILLISECONDS);
+    }
+
+    private static void awaitQueued(RateLimitScheduler scheduler, int queued) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduler.getBudget(CORE).getQueuedRequests() < queued) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Callers did not queue up");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
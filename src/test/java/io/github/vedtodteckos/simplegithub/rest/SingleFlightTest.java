@@ -0,0 +1,179 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sharing of concurrent identical calls by {@link SingleFlight}.
+ */
+class SingleFlightTest {
+    private final SingleFlight<String, String> flight = new SingleFlight<>();
+    private final List<Thread> callers = new ArrayList<>();
+
+    @Test
+    void sharesConcurrentCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<String>> results = run(4, () -> flight.execute("/repos/octo/hello", () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "hello";
+        }));
+        awaitBlocked();
+
+        release.countDown();
+
+        for (CompletableFuture<String> result : results) {
+            assertEquals("hello", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(0, flight.size());
+    }
+
+    @Test
+    void propagatesFailureToEveryCaller() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<String>> results = run(4, () -> flight.execute("/repos/octo/hello", () -> {
+            calls.incrementAndGet();
+            await(release);
+            throw new IOException("Not Found");
+        }));
+        awaitBlocked();
+
+        release.countDown();
+
+        for (CompletableFuture<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IOException.class, e.getCause());
+            assertEquals("Not Found", e.getCause().getMessage());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void startsFreshCallAfterCompletion() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+
+        flight.execute("/repos/octo/hello", () -> "v" + calls.incrementAndGet());
+
+        assertEquals("v2", flight.execute("/repos/octo/hello", () -> "v" + calls.incrementAndGet()));
+    }
+
+    @Test
+    void keepsDifferentKeysApart() throws IOException {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        flight.executeAsync("/repos/octo/hello", () -> pending);
+
+        assertEquals("other", flight.execute("/repos/octo/other", () -> "other"));
+        assertEquals(1, flight.size());
+    }
+
+    @Test
+    void sharesConcurrentAsyncCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> response = new CompletableFuture<>();
+        CompletableFuture<String> first = flight.executeAsync("/repos/octo/hello", () -> {
+            calls.incrementAndGet();
+            return response;
+        });
+        CompletableFuture<String> second = flight.executeAsync("/repos/octo/hello", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+
+        // Cancelling one caller's future leaves the others waiting for the call
+        second.cancel(false);
+        CompletableFuture<String> third = flight.executeAsync("/repos/octo/hello", CompletableFuture::new);
+        response.complete("hello");
+
+        assertEquals("hello", first.get(5, TimeUnit.SECONDS));
+        assertEquals("hello", third.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(0, flight.size());
+    }
+
+    @Test
+    void propagatesAsyncFailureToEveryCaller() {
+        IOException failure = new IOException("Not Found");
+        CompletableFuture<String> response = new CompletableFuture<>();
+        CompletableFuture<String> first = flight.executeAsync("/repos/octo/hello", () -> response);
+        CompletableFuture<String> second = flight.executeAsync("/repos/octo/hello", () -> response);
+
+        response.completeExceptionally(failure);
+
+        for (CompletableFuture<String> result : List.of(first, second)) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+        assertEquals(0, flight.size());
+    }
+
+    @Test
+    void failsCallThatCannotStart() {
+        CompletableFuture<String> result = flight.executeAsync("/repos/octo/hello", () -> {
+            throw new IllegalStateException("closed");
+        });
+
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(0, flight.size());
+    }
+
+    /**
+     * Runs the same call on several threads.
+     */
+    private List<CompletableFuture<String>> run(int threads, SingleFlight.Call<String> call) {
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            CompletableFuture<String> result = new CompletableFuture<>();
+            Thread thread = new Thread(() -> {
+                try {
+                    result.complete(call.call());
+                } catch (IOException | RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+            callers.add(thread);
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * Waits until every calling thread waits, either running the call or for the call to finish.
+     */
+    private void awaitBlocked() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!callers.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING)) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Callers did not block");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.vedtodteckos.simplegithub.rest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local stand-in for the GitHub API answering each path with a canned JSON response.
+ * Query parameters are ignored when matching, but recorded with every request.
+ */
+final class StubGitHubServer implements AutoCloseable {
+    private final HttpServer server;
+    private final Map<String, Response> routes = new ConcurrentHashMap<>();
+    private final List<String> requests = new ArrayList<>();
+
+    private StubGitHubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Starts a stub server on a free loopback port.
+     */
+    static StubGitHubServer start() throws IOException {
+        StubGitHubServer stub = new StubGitHubServer();
+        stub.server.start();
+        return stub;
+    }
+
+    /**
+     * Gets the API base URL of the server, without a trailing slash.
+     */
+    String getApiUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Answers requests for a path with status 200 and the given body.
+     */
+    void respond(String path, String body) {
+        respond(path, 200, body);
+    }
+
+    /**
+     * Answers requests for a path with the given status and body.
+     */
+    void respond(String path, int status, String body) {
+        routes.put(path, new Response(status, body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Gets the requests received so far, as method and URI, e.g. {@code GET /orgs/acme/copilot/usage?start_date=...}.
+     */
+    synchronized List<String> getRequests() {
+        return List.copyOf(requests);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try (InputStream body = exchange.getRequestBody()) {
+                body.readAllBytes();
+            }
+            synchronized (this) {
+                requests.add(exchange.getRequestMethod() + " " + exchange.getRequestURI());
+            }
+            Response response = routes.getOrDefault(exchange.getRequestURI().getPath(),
+                    new Response(404, "{\"message\":\"Not Found\"}".getBytes(StandardCharsets.UTF_8)));
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(response.status, response.body.length == 0 ? -1 : response.body.length);
+            exchange.getResponseBody().write(response.body);
+        }
+    }
+
+    /**
+     * Loads a recorded response from the test resources.
+     */
+    static String fixture(String name) {
+        try (InputStream in = StubGitHubServer.class.getResourceAsStream("/fixtures/" + name + ".json")) {
+            if (in == null) {
+                throw new IllegalArgumentException("Unknown fixture: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Response {
+        private final int status;
+        private final byte[] body;
+
+        private Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}